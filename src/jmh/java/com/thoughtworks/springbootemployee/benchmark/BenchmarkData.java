@@ -0,0 +1,46 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+    private BenchmarkData() {
+    }
+
+    static Employee employee(int id, Integer companyId) {
+        Employee employee = new Employee(id, "employee" + id, 20 + id % 40, gender(id), 5000 + id % 20 * 500);
+        employee.setCompanyId(companyId);
+        return employee;
+    }
+
+    static String gender(int id) {
+        if (id % 100 == 0) {
+            return "other";
+        }
+        return id % 2 == 0 ? "male" : "female";
+    }
+
+    static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            employees.add(employee(id, null));
+        }
+        return employees;
+    }
+
+    static List<Company> companies(int count, int employeesPerCompany) {
+        List<Company> companies = new ArrayList<>(count);
+        int employeeId = 1;
+        for (int id = 1; id <= count; id++) {
+            List<Employee> employees = new ArrayList<>(employeesPerCompany);
+            for (int index = 0; index < employeesPerCompany; index++) {
+                employees.add(employee(employeeId++, id));
+            }
+            companies.add(new Company(id, "company" + id, employeesPerCompany, employees));
+        }
+        return companies;
+    }
+}
@@ -0,0 +1,49 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.exception.NoSuchDataException;
+import com.thoughtworks.springbootemployee.exception.NotTheSameIDException;
+import com.thoughtworks.springbootemployee.exception.PreconditionFailedException;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeServiceBenchmark {
+    private EmployeeService employeeService;
+    private Employee updatedEmployee;
+
+    @Setup
+    public void setUp() {
+        Employee storedEmployee = BenchmarkData.employee(1, 1);
+        EmployeeRepository employeeRepository = (EmployeeRepository) Proxy.newProxyInstance(
+                EmployeeRepository.class.getClassLoader(),
+                new Class<?>[]{EmployeeRepository.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findById":
+                            return Optional.of(storedEmployee);
+                        case "save":
+                            return args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        employeeService = new EmployeeService(employeeRepository, null, null, event -> {});
+        updatedEmployee = new Employee(1, "renamed", null, "female", 9000);
+    }
+
+    @Benchmark
+    public Employee updateEmployee() throws NoSuchDataException, NotTheSameIDException, PreconditionFailedException {
+        return employeeService.updateEmployee(1, updatedEmployee, null);
+    }
+}
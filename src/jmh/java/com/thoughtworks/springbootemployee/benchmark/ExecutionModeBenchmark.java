@@ -0,0 +1,97 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.SpringBootEmployeeApplication;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(1024)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutionModeBenchmark {
+    private static final int COMPANIES = 100;
+    private static final int EMPLOYEES_PER_COMPANY = 100;
+
+    @Param({"blocking", "offload"})
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("http.maxConnections", "1024");
+        context = new SpringApplicationBuilder(SpringBootEmployeeApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=warn")
+                .run("--execution.mode=" + mode, "--spring.jpa.show-sql=false");
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        seed(new JdbcTemplate(context.getBean(DataSource.class)));
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        List<Object[]> companyRows = new ArrayList<>(COMPANIES);
+        List<Object[]> employeeRows = new ArrayList<>(COMPANIES * EMPLOYEES_PER_COMPANY);
+        for (int companyId = 1; companyId <= COMPANIES; companyId++) {
+            companyRows.add(new Object[]{companyId, "company" + companyId, EMPLOYEES_PER_COMPANY});
+            for (int i = 0; i < EMPLOYEES_PER_COMPANY; i++) {
+                int id = (companyId - 1) * EMPLOYEES_PER_COMPANY + i + 1;
+                Employee employee = BenchmarkData.employee(id, companyId);
+                employeeRows.add(new Object[]{id, employee.getName(), employee.getAge(), employee.getGender(), employee.getSalary(), companyId});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into company (id, company_name, employee_number) values (?, ?, ?)", companyRows);
+        jdbcTemplate.batchUpdate("insert into employee (id, name, age, gender, salary, company_id) values (?, ?, ?, ?, ?, ?)", employeeRows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getCompanyStats() throws IOException {
+        return get("/companies/" + ThreadLocalRandom.current().nextInt(1, COMPANIES + 1) + "/stats");
+    }
+
+    @Benchmark
+    public int getEmployeesPage() throws IOException {
+        return get("/employees?page=" + ThreadLocalRandom.current().nextInt(1, 50) + "&pageSize=20");
+    }
+
+    private int get(String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        int status = connection.getResponseCode();
+        int bytes = 0;
+        try (InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            byte[] buffer = new byte[8192];
+            for (int read; (read = body.read(buffer)) > 0; ) {
+                bytes += read;
+            }
+        }
+        if (status != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + status);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,86 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.mapper.CompanyMapper;
+import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.requestModel.RequestCompany;
+import com.thoughtworks.springbootemployee.requestModel.RequestEmployee;
+import com.thoughtworks.springbootemployee.responseModel.CompanyResponse;
+import com.thoughtworks.springbootemployee.responseModel.EmployeeResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    private final EmployeeMapper employeeMapper = new EmployeeMapper();
+    private final CompanyMapper companyMapper = new CompanyMapper(employeeMapper);
+    private RequestEmployee requestEmployee;
+    private RequestCompany requestCompany;
+    private Employee employee;
+    private Company company;
+
+    @Setup
+    public void setUp() {
+        requestEmployee = new RequestEmployee(1, "employee1", 20, "male", 6000, 1);
+        company = BenchmarkData.companies(1, 10).get(0);
+        List<RequestEmployee> requestEmployees = new ArrayList<>();
+        for (Employee companyEmployee : company.getEmployees()) {
+            requestEmployees.add(new RequestEmployee(companyEmployee.getId(), companyEmployee.getName(), companyEmployee.getAge(),
+                    companyEmployee.getGender(), companyEmployee.getSalary(), companyEmployee.getCompanyId()));
+        }
+        requestCompany = new RequestCompany(1, "company1", 10, requestEmployees);
+        employee = company.getEmployees().get(0);
+    }
+
+    @Benchmark
+    public Employee requestEmployeeToEmployee() {
+        return employeeMapper.requestEmployeeToEmployee(requestEmployee);
+    }
+
+    @Benchmark
+    public Employee requestEmployeeToEmployeeWithBeanUtils() {
+        Employee copy = new Employee();
+        BeanUtils.copyProperties(requestEmployee, copy);
+        return copy;
+    }
+
+    @Benchmark
+    public Company requestCompanyToCompany() {
+        return companyMapper.requestCompanyToCompany(requestCompany);
+    }
+
+    @Benchmark
+    public Company requestCompanyToCompanyWithBeanUtils() {
+        Company copy = new Company();
+        BeanUtils.copyProperties(requestCompany, copy, "employees");
+        List<Employee> employees = new ArrayList<>(requestCompany.getEmployees().size());
+        for (RequestEmployee requestCompanyEmployee : requestCompany.getEmployees()) {
+            Employee employeeCopy = new Employee();
+            BeanUtils.copyProperties(requestCompanyEmployee, employeeCopy);
+            employees.add(employeeCopy);
+        }
+        copy.setEmployees(employees);
+        return copy;
+    }
+
+    @Benchmark
+    public EmployeeResponse employeeToEmployeeResponse() {
+        return employeeMapper.employeeToEmployeeResponse(employee);
+    }
+
+    @Benchmark
+    public CompanyResponse companyToCompanyResponse() {
+        return companyMapper.companyToCompanyResponse(company);
+    }
+}
@@ -0,0 +1,48 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.search.NameIndex;
+import com.thoughtworks.springbootemployee.search.NameMatch;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class NameSearchBenchmark {
+    private static final String[] FIRST_NAMES = {"john", "mary", "james", "linda", "robert", "susan", "michael", "karen",
+            "william", "nancy", "david", "lisa", "richard", "betty", "joseph", "helen", "thomas", "sandra", "charles", "donna"};
+    private static final String[] SYLLABLES = {"an", "ber", "cas", "dor", "el", "fin", "gar", "hol", "is", "jor",
+            "kel", "lan", "mor", "nel", "or", "par", "quin", "ros", "sten", "tor"};
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"joh", "jhon", "john kelmor", "jhon kelmro"})
+    private String query;
+
+    private NameIndex nameIndex;
+
+    @Setup
+    public void setUp() {
+        nameIndex = new NameIndex();
+        for (int id = 1; id <= size; id++) {
+            nameIndex.upsert(new Employee(id, name(id), 20, "male", 6000));
+        }
+    }
+
+    private static String name(int id) {
+        String lastName = SYLLABLES[id % 20] + SYLLABLES[id / 20 % 20] + SYLLABLES[id / 400 % 20];
+        return FIRST_NAMES[id / 8000 % 20] + " " + lastName;
+    }
+
+    @Benchmark
+    public List<NameMatch> search() {
+        return nameIndex.search(query, 20);
+    }
+}
@@ -0,0 +1,115 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.SpringBootEmployeeApplication;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+    private static final int EMPLOYEES_PER_COMPANY = 100;
+    private static final int SEED_BATCH_SIZE = 10000;
+    private static final String COMPANY_FOREIGN_KEY = "FK5v50ed2bjh60n1gc7ifuxmgf4";
+    private static final String[] UNINDEXED_DROPS = {
+            "idx_employee_gender",
+            "idx_employee_company_id_id",
+            "idx_employee_gender_age",
+            "idx_employee_gender_salary",
+            "idx_employee_company_id_salary"
+    };
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+    private CompanyRepository companyRepository;
+    private int companies;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SpringBootEmployeeApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=warn")
+                .run();
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        companyRepository = context.getBean(CompanyRepository.class);
+        companies = Math.max(1, rows / EMPLOYEES_PER_COMPANY);
+        seed(new JdbcTemplate(context.getBean(DataSource.class)));
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        List<Object[]> companyRows = new ArrayList<>(companies);
+        for (int id = 1; id <= companies; id++) {
+            companyRows.add(new Object[]{id, "company" + id, EMPLOYEES_PER_COMPANY});
+        }
+        jdbcTemplate.batchUpdate("insert into company (id, company_name, employee_number) values (?, ?, ?)", companyRows);
+
+        List<Object[]> employeeRows = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int id = 1; id <= rows; id++) {
+            Employee employee = BenchmarkData.employee(id, (id - 1) % companies + 1);
+            employeeRows.add(new Object[]{id, employee.getName(), employee.getAge(), employee.getGender(), employee.getSalary(), employee.getCompanyId()});
+            if (employeeRows.size() == SEED_BATCH_SIZE || id == rows) {
+                jdbcTemplate.batchUpdate("insert into employee (id, name, age, gender, salary, company_id) values (?, ?, ?, ?, ?, ?)", employeeRows);
+                employeeRows.clear();
+            }
+        }
+        if (!indexed) {
+            jdbcTemplate.execute("alter table employee drop constraint if exists " + COMPANY_FOREIGN_KEY);
+            for (String index : UNINDEXED_DROPS) {
+                jdbcTemplate.execute("drop index if exists " + index);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Employee> findEmployeeById() {
+        return employeeRepository.findById(ThreadLocalRandom.current().nextInt(1, rows + 1));
+    }
+
+    @Benchmark
+    public Optional<Company> findCompanyById() {
+        return companyRepository.findById(ThreadLocalRandom.current().nextInt(1, companies + 1));
+    }
+
+    @Benchmark
+    public Page<Employee> findFirstPageByRareGender() {
+        return employeeRepository.findAllByGender("other", PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public List<Employee> findAllByCompanyId() {
+        return employeeRepository.findAllByCompanyId(ThreadLocalRandom.current().nextInt(1, companies + 1));
+    }
+}
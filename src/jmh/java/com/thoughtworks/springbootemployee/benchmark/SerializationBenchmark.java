@@ -0,0 +1,53 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    @Param({"100", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Employee> employees;
+    private Page<Employee> employeePage;
+    private List<Company> companies;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        employees = BenchmarkData.employees(size);
+        employeePage = new PageImpl<>(employees, PageRequest.of(0, size), size * 10L);
+        companies = BenchmarkData.companies(Math.max(1, size / 10), 10);
+    }
+
+    @Benchmark
+    public byte[] employeeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] employeePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employeePage);
+    }
+
+    @Benchmark
+    public byte[] companyList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(companies);
+    }
+}
@@ -0,0 +1,163 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.SpringBootEmployeeApplication;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+    private static final String FIRST_REQUEST = "/employees?page=1&pageSize=20";
+    private static final long STARTUP_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    @Param({"default", "fast-startup"})
+    private String profile;
+
+    @Param({"10000"})
+    private int employees;
+
+    @Param({""})
+    private String cdsArchive;
+
+    private Path directory;
+    private String databaseUrl;
+    private Process application;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("startup-benchmark");
+        databaseUrl = "jdbc:h2:file:" + directory.resolve("employees").toAbsolutePath() + ";FILE_LOCK=NO";
+        Process migration = start("default", "--startup.exit-on-ready=true");
+        if (migration.waitFor() != 0) {
+            throw new IllegalStateException("Migrating the benchmark database failed, see " + directory.resolve("application.log"));
+        }
+        seed();
+    }
+
+    private void seed() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(databaseUrl, "sa", "");
+             PreparedStatement insert = connection.prepareStatement(
+                     "insert into employee (id, name, age, gender, salary, company_id) values (?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= employees; id++) {
+                Employee employee = BenchmarkData.employee(id, null);
+                insert.setInt(1, id);
+                insert.setString(2, employee.getName());
+                insert.setInt(3, employee.getAge());
+                insert.setString(4, employee.getGender());
+                insert.setInt(5, employee.getSalary());
+                insert.setObject(6, null);
+                insert.addBatch();
+                if (id % 1000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopApplication() throws InterruptedException {
+        if (application != null) {
+            application.destroy();
+            if (!application.waitFor(30, TimeUnit.SECONDS)) {
+                application.destroyForcibly().waitFor();
+            }
+            application = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws Exception {
+        int port = freePort();
+        application = start(profile, "--server.port=" + port);
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        while (true) {
+            try {
+                return get("http://localhost:" + port + FIRST_REQUEST);
+            } catch (IOException notListening) {
+                if (!application.isAlive() || System.currentTimeMillis() > deadline) {
+                    throw new IllegalStateException("Application did not serve a request, see " + directory.resolve("application.log"));
+                }
+                Thread.sleep(5);
+            }
+        }
+    }
+
+    private Process start(String activeProfile, String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        String classpath = System.getProperty("java.class.path");
+        if (!cdsArchive.isEmpty()) {
+            command.add("-Xshare:auto");
+            command.add("-XX:SharedArchiveFile=" + cdsArchive);
+            classpath = new String(Files.readAllBytes(Paths.get(cdsArchive).resolveSibling("classpath.txt")), StandardCharsets.UTF_8).trim();
+        }
+        command.add("-cp");
+        command.add(classpath);
+        command.add(SpringBootEmployeeApplication.class.getName());
+        command.add("--spring.profiles.active=" + activeProfile);
+        command.add("--spring.datasource.url=" + databaseUrl);
+        command.add("--logging.level.root=warn");
+        for (String arg : args) {
+            command.add(arg);
+        }
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(directory.resolve("application.log").toFile())
+                .start();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static int get(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setConnectTimeout(100);
+        int status = connection.getResponseCode();
+        if (status != 200) {
+            throw new IllegalStateException("First request returned " + status);
+        }
+        int bytes = 0;
+        try (InputStream body = connection.getInputStream()) {
+            byte[] buffer = new byte[8192];
+            for (int read; (read = body.read(buffer)) > 0; ) {
+                bytes += read;
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,76 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
+import com.thoughtworks.springbootemployee.responseModel.EmployeeResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+    private static final int PAGE_SIZE = 10000;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"none", "gzip"})
+    private String compression;
+
+    private ObjectMapper objectMapper;
+    private Page<EmployeeResponse> employeePage;
+    private int payloadBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().factory(factory(format)).build();
+        employeePage = new PageImpl<>(new EmployeeMapper().employeesToEmployeeResponses(BenchmarkData.employees(PAGE_SIZE)),
+                PageRequest.of(0, PAGE_SIZE), PAGE_SIZE * 10L);
+        payloadBytes = serializePage().length;
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%n%s/%s payload for %d employees: %d bytes%n", format, compression, PAGE_SIZE, payloadBytes);
+    }
+
+    private static JsonFactory factory(String format) {
+        switch (format) {
+            case "cbor":
+                return new CBORFactory();
+            case "smile":
+                return new SmileFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        if ("gzip".equals(compression)) {
+            try (OutputStream gzip = new GZIPOutputStream(buffer)) {
+                objectMapper.writeValue(gzip, employeePage);
+            }
+        } else {
+            objectMapper.writeValue(buffer, employeePage);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,6 @@
+package com.thoughtworks.springbootemployee.analytics;
+
+public enum Column {
+    SALARY,
+    AGE
+}
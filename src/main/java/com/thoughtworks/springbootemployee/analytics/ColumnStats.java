@@ -0,0 +1,90 @@
+package com.thoughtworks.springbootemployee.analytics;
+
+public class ColumnStats {
+    private long count;
+    private long salaryCount;
+    private long salaryTotal;
+    private int minSalary = Integer.MAX_VALUE;
+    private int maxSalary = Integer.MIN_VALUE;
+    private long ageCount;
+    private long ageTotal;
+    private int minAge = Integer.MAX_VALUE;
+    private int maxAge = Integer.MIN_VALUE;
+
+    void add(int salary, int age) {
+        count++;
+        if (salary != EmployeeColumns.NULL) {
+            salaryCount++;
+            salaryTotal += salary;
+            minSalary = Math.min(minSalary, salary);
+            maxSalary = Math.max(maxSalary, salary);
+        }
+        if (age != EmployeeColumns.NULL) {
+            ageCount++;
+            ageTotal += age;
+            minAge = Math.min(minAge, age);
+            maxAge = Math.max(maxAge, age);
+        }
+    }
+
+    ColumnStats merge(ColumnStats other) {
+        count += other.count;
+        salaryCount += other.salaryCount;
+        salaryTotal += other.salaryTotal;
+        minSalary = Math.min(minSalary, other.minSalary);
+        maxSalary = Math.max(maxSalary, other.maxSalary);
+        ageCount += other.ageCount;
+        ageTotal += other.ageTotal;
+        minAge = Math.min(minAge, other.minAge);
+        maxAge = Math.max(maxAge, other.maxAge);
+        return this;
+    }
+
+    int min(Column column) {
+        return column == Column.SALARY ? minSalary : minAge;
+    }
+
+    int max(Column column) {
+        return column == Column.SALARY ? maxSalary : maxAge;
+    }
+
+    long count(Column column) {
+        return column == Column.SALARY ? salaryCount : ageCount;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSalaryCount() {
+        return salaryCount;
+    }
+
+    public long getSalaryTotal() {
+        return salaryTotal;
+    }
+
+    public int getMinSalary() {
+        return minSalary;
+    }
+
+    public int getMaxSalary() {
+        return maxSalary;
+    }
+
+    public long getAgeCount() {
+        return ageCount;
+    }
+
+    public long getAgeTotal() {
+        return ageTotal;
+    }
+
+    public int getMinAge() {
+        return minAge;
+    }
+
+    public int getMaxAge() {
+        return maxAge;
+    }
+}
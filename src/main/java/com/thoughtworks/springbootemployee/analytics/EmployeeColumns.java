@@ -0,0 +1,303 @@
+package com.thoughtworks.springbootemployee.analytics;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.requestModel.AnalyticsFilter;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class EmployeeColumns {
+    static final int NULL = Integer.MIN_VALUE;
+    static final int OTHER_GENDER = 255;
+    static final int SPLIT_THRESHOLD = 8192;
+    static final int MAX_BUCKETS = 10_000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ForkJoinPool pool;
+    private final IntIntMap rowsById;
+    private final Map<String, Integer> genderCodes = new HashMap<>();
+    private final Map<Integer, String> otherGenders = new HashMap<>();
+    private int[] ids;
+    private int[] salaries;
+    private int[] ages;
+    private int[] companyIds;
+    private byte[] genders;
+    private int size;
+
+    public EmployeeColumns(int initialCapacity, ForkJoinPool pool) {
+        this.pool = pool;
+        this.rowsById = new IntIntMap(initialCapacity);
+        this.ids = new int[initialCapacity];
+        this.salaries = new int[initialCapacity];
+        this.ages = new int[initialCapacity];
+        this.companyIds = new int[initialCapacity];
+        this.genders = new byte[initialCapacity];
+    }
+
+    public void upsert(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(employee.getId(), -1);
+            if (row < 0) {
+                if (size == ids.length) {
+                    grow();
+                }
+                row = size++;
+                ids[row] = employee.getId();
+                rowsById.put(employee.getId(), row);
+            }
+            salaries[row] = valueOf(employee.getSalary());
+            ages[row] = valueOf(employee.getAge());
+            companyIds[row] = valueOf(employee.getCompanyId());
+            int genderCode = genderCode(employee.getGender());
+            genders[row] = (byte) genderCode;
+            if (genderCode == OTHER_GENDER) {
+                otherGenders.put(employee.getId(), employee.getGender());
+            } else if (!otherGenders.isEmpty()) {
+                otherGenders.remove(employee.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(id, -1);
+            if (row >= 0) {
+                removeRow(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeCompany(int companyId) {
+        lock.writeLock().lock();
+        try {
+            for (int row = size - 1; row >= 0; row--) {
+                if (companyIds[row] == companyId) {
+                    removeRow(row);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            rowsById.clear();
+            otherGenders.clear();
+            size = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public ColumnStats aggregate(AnalyticsFilter filter) {
+        lock.readLock().lock();
+        try {
+            return pool.invoke(new AggregateTask(new RowFilter(filter), 0, size));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Histogram histogram(Column column, int bucketWidth, AnalyticsFilter filter) {
+        lock.readLock().lock();
+        try {
+            RowFilter rowFilter = new RowFilter(filter);
+            ColumnStats stats = pool.invoke(new AggregateTask(rowFilter, 0, size));
+            if (stats.count(column) == 0) {
+                return new Histogram(0, bucketWidth, new long[0]);
+            }
+            int firstBucket = Math.floorDiv(stats.min(column), bucketWidth);
+            long bucketCount = (long) Math.floorDiv(stats.max(column), bucketWidth) - firstBucket + 1;
+            if (bucketCount > MAX_BUCKETS) {
+                throw new IllegalArgumentException("Histogram would need " + bucketCount + " buckets");
+            }
+            int[] values = column == Column.SALARY ? salaries : ages;
+            long[] counts = pool.invoke(new HistogramTask(rowFilter, values, firstBucket, bucketWidth, (int) bucketCount, 0, size));
+            return new Histogram(firstBucket * bucketWidth, bucketWidth, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeRow(int row) {
+        rowsById.remove(ids[row]);
+        if (!otherGenders.isEmpty()) {
+            otherGenders.remove(ids[row]);
+        }
+        int last = --size;
+        if (row != last) {
+            ids[row] = ids[last];
+            salaries[row] = salaries[last];
+            ages[row] = ages[last];
+            companyIds[row] = companyIds[last];
+            genders[row] = genders[last];
+            rowsById.put(ids[row], row);
+        }
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        salaries = Arrays.copyOf(salaries, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        companyIds = Arrays.copyOf(companyIds, capacity);
+        genders = Arrays.copyOf(genders, capacity);
+    }
+
+    private int genderCode(String gender) {
+        if (gender == null) {
+            return 0;
+        }
+        Integer code = genderCodes.get(gender);
+        if (code == null) {
+            // Past the byte range, genders share the reserved code and are kept per id instead.
+            if (genderCodes.size() + 1 >= OTHER_GENDER) {
+                return OTHER_GENDER;
+            }
+            code = genderCodes.size() + 1;
+            genderCodes.put(gender, code);
+        }
+        return code;
+    }
+
+    private static int valueOf(Integer value) {
+        return value == null ? NULL : value;
+    }
+
+    private final class RowFilter {
+        private final boolean matchesNothing;
+        private final int gender;
+        private final String otherGender;
+        private final int companyId;
+        private final int minAge;
+        private final int maxAge;
+        private final int minSalary;
+        private final int maxSalary;
+        private final boolean hasAgeBound;
+        private final boolean hasSalaryBound;
+
+        private RowFilter(AnalyticsFilter filter) {
+            Integer genderCode = filter.getGender() == null ? Integer.valueOf(-1) : genderCodes.get(filter.getGender());
+            matchesNothing = genderCode == null && otherGenders.isEmpty();
+            gender = genderCode == null ? OTHER_GENDER : genderCode;
+            otherGender = genderCode == null ? filter.getGender() : null;
+            companyId = filter.getCompanyId() == null ? NULL : filter.getCompanyId();
+            minAge = filter.getMinAge() == null ? Integer.MIN_VALUE : filter.getMinAge();
+            maxAge = filter.getMaxAge() == null ? Integer.MAX_VALUE : filter.getMaxAge();
+            minSalary = filter.getMinSalary() == null ? Integer.MIN_VALUE : filter.getMinSalary();
+            maxSalary = filter.getMaxSalary() == null ? Integer.MAX_VALUE : filter.getMaxSalary();
+            hasAgeBound = filter.getMinAge() != null || filter.getMaxAge() != null;
+            hasSalaryBound = filter.getMinSalary() != null || filter.getMaxSalary() != null;
+        }
+
+        private boolean matches(int row) {
+            if (matchesNothing
+                    || gender >= 0 && (genders[row] & 0xFF) != gender
+                    || otherGender != null && !otherGender.equals(otherGenders.get(ids[row]))
+                    || companyId != NULL && companyIds[row] != companyId) {
+                return false;
+            }
+            int age = ages[row];
+            if (hasAgeBound && (age == NULL || age < minAge || age > maxAge)) {
+                return false;
+            }
+            int salary = salaries[row];
+            return !hasSalaryBound || salary != NULL && salary >= minSalary && salary <= maxSalary;
+        }
+    }
+
+    private final class AggregateTask extends RecursiveTask<ColumnStats> {
+        private final RowFilter filter;
+        private final int from;
+        private final int to;
+
+        private AggregateTask(RowFilter filter, int from, int to) {
+            this.filter = filter;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ColumnStats compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                ColumnStats stats = new ColumnStats();
+                for (int row = from; row < to; row++) {
+                    if (filter.matches(row)) {
+                        stats.add(salaries[row], ages[row]);
+                    }
+                }
+                return stats;
+            }
+            int middle = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(filter, from, middle);
+            left.fork();
+            ColumnStats right = new AggregateTask(filter, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    private final class HistogramTask extends RecursiveTask<long[]> {
+        private final RowFilter filter;
+        private final int[] values;
+        private final int firstBucket;
+        private final int bucketWidth;
+        private final int bucketCount;
+        private final int from;
+        private final int to;
+
+        private HistogramTask(RowFilter filter, int[] values, int firstBucket, int bucketWidth, int bucketCount, int from, int to) {
+            this.filter = filter;
+            this.values = values;
+            this.firstBucket = firstBucket;
+            this.bucketWidth = bucketWidth;
+            this.bucketCount = bucketCount;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                long[] counts = new long[bucketCount];
+                for (int row = from; row < to; row++) {
+                    int value = values[row];
+                    if (value != NULL && filter.matches(row)) {
+                        counts[Math.floorDiv(value, bucketWidth) - firstBucket]++;
+                    }
+                }
+                return counts;
+            }
+            int middle = (from + to) >>> 1;
+            HistogramTask left = new HistogramTask(filter, values, firstBucket, bucketWidth, bucketCount, from, middle);
+            left.fork();
+            long[] counts = new HistogramTask(filter, values, firstBucket, bucketWidth, bucketCount, middle, to).compute();
+            long[] leftCounts = left.join();
+            for (int bucket = 0; bucket < bucketCount; bucket++) {
+                counts[bucket] += leftCounts[bucket];
+            }
+            return counts;
+        }
+    }
+}
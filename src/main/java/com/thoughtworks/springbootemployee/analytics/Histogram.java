@@ -0,0 +1,25 @@
+package com.thoughtworks.springbootemployee.analytics;
+
+public class Histogram {
+    private final int origin;
+    private final int bucketWidth;
+    private final long[] counts;
+
+    Histogram(int origin, int bucketWidth, long[] counts) {
+        this.origin = origin;
+        this.bucketWidth = bucketWidth;
+        this.counts = counts;
+    }
+
+    public int getOrigin() {
+        return origin;
+    }
+
+    public int getBucketWidth() {
+        return bucketWidth;
+    }
+
+    public long[] getCounts() {
+        return counts;
+    }
+}
@@ -0,0 +1,12 @@
+package com.thoughtworks.springbootemployee.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfiguration {
+    public static final String EMPLOYEES = "employees";
+    public static final String COMPANIES = "companies";
+}
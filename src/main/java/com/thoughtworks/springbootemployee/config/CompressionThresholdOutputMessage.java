@@ -0,0 +1,62 @@
+package com.thoughtworks.springbootemployee.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+class CompressionThresholdOutputMessage implements HttpOutputMessage {
+    private final HttpOutputMessage delegate;
+    private final int threshold;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private OutputStream body;
+
+    CompressionThresholdOutputMessage(HttpOutputMessage delegate, int threshold) {
+        this.delegate = delegate;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return delegate.getHeaders();
+    }
+
+    @Override
+    public OutputStream getBody() {
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                if (body == null && buffer.size() + length > threshold) {
+                    body = delegate.getBody();
+                    buffer.writeTo(body);
+                }
+                if (body != null) {
+                    body.write(bytes, offset, length);
+                } else {
+                    buffer.write(bytes, offset, length);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (body != null) {
+                    body.flush();
+                }
+            }
+        };
+    }
+
+    void finish() throws IOException {
+        if (body == null) {
+            delegate.getHeaders().setContentLength(buffer.size());
+            buffer.writeTo(delegate.getBody());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.thoughtworks.springbootemployee.config;
+
+import com.thoughtworks.springbootemployee.controller.CompanyController;
+import com.thoughtworks.springbootemployee.controller.EmployeeController;
+import com.thoughtworks.springbootemployee.controller.OffloadingHandlerAdapter;
+import com.thoughtworks.springbootemployee.datasource.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+
+@Configuration
+@ConditionalOnProperty(name = "execution.mode", havingValue = "offload")
+public class ExecutionConfiguration {
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public ThreadPoolTaskExecutor jdbcExecutor(DataSource dataSource, @Value("${execution.queue-capacity:2000}") int queueCapacity) throws SQLException {
+        int poolSize = poolSize(dataSource);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("jdbc-");
+        executor.setDaemon(true);
+        return executor;
+    }
+
+    @Bean
+    public WebMvcConfigurer jdbcExecutorConfigurer(ThreadPoolTaskExecutor jdbcExecutor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.setTaskExecutor(jdbcExecutor);
+            }
+        };
+    }
+
+    @Bean
+    public WebMvcRegistrations offloadingWebMvcRegistrations() {
+        return new WebMvcRegistrations() {
+            @Override
+            public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+                return new OffloadingHandlerAdapter(new HashSet<>(Arrays.asList(EmployeeController.class, CompanyController.class)));
+            }
+        };
+    }
+
+    private static int poolSize(DataSource dataSource) throws SQLException {
+        if (dataSource.isWrapperFor(ReadWriteRoutingDataSource.class)) {
+            ReadWriteRoutingDataSource routingDataSource = dataSource.unwrap(ReadWriteRoutingDataSource.class);
+            int poolSize = poolSize(routingDataSource.getPrimary());
+            for (DataSource replica : routingDataSource.getReplicas().values()) {
+                poolSize += poolSize(replica);
+            }
+            return poolSize;
+        }
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+}
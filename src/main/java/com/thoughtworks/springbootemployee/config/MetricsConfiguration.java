@@ -0,0 +1,84 @@
+package com.thoughtworks.springbootemployee.config;
+
+import com.thoughtworks.springbootemployee.metrics.HandlerTagsContributor;
+import com.thoughtworks.springbootemployee.metrics.RepositoryMetricsAspect;
+import com.thoughtworks.springbootemployee.metrics.SqlStatementCounter;
+import com.thoughtworks.springbootemployee.metrics.SqlStatementMetricsInterceptor;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+@Configuration
+public class MetricsConfiguration {
+    private static final Set<String> PERCENTILE_METRICS = new HashSet<>(Arrays.asList(
+            "http.server.requests", RepositoryMetricsAspect.METRIC_NAME, SqlStatementMetricsInterceptor.METRIC_NAME));
+
+    @Bean
+    public RepositoryMetricsAspect repositoryMetricsAspect(MeterRegistry meterRegistry) {
+        return new RepositoryMetricsAspect(meterRegistry);
+    }
+
+    @Bean
+    public HandlerTagsContributor handlerTagsContributor() {
+        return new HandlerTagsContributor();
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "metrics.mode", havingValue = "detailed", matchIfMissing = true)
+    static class DetailedMetricsConfiguration {
+
+        @Bean
+        public static MeterFilter percentileMeterFilter() {
+            return new MeterFilter() {
+                @Override
+                public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                    if (!PERCENTILE_METRICS.contains(id.getName())) {
+                        return config;
+                    }
+                    return DistributionStatisticConfig.builder()
+                            .percentiles(0.5, 0.99, 0.999)
+                            .build()
+                            .merge(config);
+                }
+            };
+        }
+
+        @Bean
+        public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+            return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+        }
+
+        @Bean
+        public SqlStatementMetricsInterceptor sqlStatementMetricsInterceptor(MeterRegistry meterRegistry) {
+            return new SqlStatementMetricsInterceptor(meterRegistry);
+        }
+
+        @Bean
+        public WebMvcConfigurer sqlStatementMetricsConfigurer(SqlStatementMetricsInterceptor sqlStatementMetricsInterceptor) {
+            return new WebMvcConfigurer() {
+                @Override
+                public void addInterceptors(InterceptorRegistry registry) {
+                    registry.addInterceptor(sqlStatementMetricsInterceptor);
+                }
+
+                @Override
+                public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                    configurer.registerCallableInterceptors(sqlStatementMetricsInterceptor);
+                }
+            };
+        }
+    }
+}
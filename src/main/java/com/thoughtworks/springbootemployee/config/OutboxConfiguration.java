@@ -0,0 +1,49 @@
+package com.thoughtworks.springbootemployee.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
+import com.thoughtworks.springbootemployee.outbox.LoggingOutboxSink;
+import com.thoughtworks.springbootemployee.outbox.OutboxRecorder;
+import com.thoughtworks.springbootemployee.outbox.OutboxRelay;
+import com.thoughtworks.springbootemployee.outbox.OutboxRepository;
+import com.thoughtworks.springbootemployee.outbox.OutboxSink;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.stream.Collectors;
+
+@Configuration
+@ConditionalOnProperty(name = "outbox.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfiguration {
+
+    @Bean
+    public OutboxRepository outboxRepository(JdbcTemplate jdbcTemplate) {
+        return new OutboxRepository(jdbcTemplate);
+    }
+
+    @Bean
+    public OutboxRecorder outboxRecorder(OutboxRepository outboxRepository, EntityManager entityManager, ObjectMapper objectMapper,
+                                         EmployeeMapper employeeMapper) {
+        return new OutboxRecorder(outboxRepository, entityManager, objectMapper, employeeMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "outbox.logging-sink", havingValue = "true", matchIfMissing = true)
+    public LoggingOutboxSink loggingOutboxSink() {
+        return new LoggingOutboxSink();
+    }
+
+    @Bean
+    @Lazy(false)
+    public OutboxRelay outboxRelay(OutboxRepository outboxRepository, ObjectProvider<OutboxSink> sinks, OutboxProperties properties) {
+        return new OutboxRelay(outboxRepository, sinks.orderedStream().collect(Collectors.toList()), properties.getBatchSize(),
+                properties.getRelayInterval());
+    }
+}
@@ -0,0 +1,45 @@
+package com.thoughtworks.springbootemployee.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("outbox")
+public class OutboxProperties {
+    private boolean enabled = true;
+    private int batchSize = 100;
+    private Duration relayInterval = Duration.ofSeconds(1);
+    private boolean loggingSink = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getRelayInterval() {
+        return relayInterval;
+    }
+
+    public void setRelayInterval(Duration relayInterval) {
+        this.relayInterval = relayInterval;
+    }
+
+    public boolean isLoggingSink() {
+        return loggingSink;
+    }
+
+    public void setLoggingSink(boolean loggingSink) {
+        this.loggingSink = loggingSink;
+    }
+}
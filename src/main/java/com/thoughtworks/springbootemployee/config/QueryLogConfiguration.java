@@ -0,0 +1,38 @@
+package com.thoughtworks.springbootemployee.config;
+
+import com.thoughtworks.springbootemployee.querylog.QueryLogDataSourcePostProcessor;
+import com.thoughtworks.springbootemployee.querylog.QueryOrigin;
+import com.thoughtworks.springbootemployee.querylog.SlowQueriesEndpoint;
+import com.thoughtworks.springbootemployee.querylog.SlowQueryLog;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "query-log.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(QueryLogProperties.class)
+public class QueryLogConfiguration {
+
+    @Bean
+    public static QueryLogDataSourcePostProcessor queryLogDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new QueryLogDataSourcePostProcessor(slowQueryLog);
+    }
+
+    @Bean
+    public SlowQueryLog slowQueryLog(QueryLogProperties properties) {
+        return new SlowQueryLog(properties.getThreshold(), properties.getSampleRate(), properties.getTop(),
+                properties.getMaxStatements(), properties.getMaxBindLength());
+    }
+
+    @Bean
+    public QueryOrigin queryOrigin() {
+        return new QueryOrigin();
+    }
+
+    @Bean
+    public SlowQueriesEndpoint slowQueriesEndpoint(SlowQueryLog slowQueryLog) {
+        return new SlowQueriesEndpoint(slowQueryLog);
+    }
+}
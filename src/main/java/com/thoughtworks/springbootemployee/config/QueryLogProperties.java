@@ -0,0 +1,63 @@
+package com.thoughtworks.springbootemployee.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("query-log")
+public class QueryLogProperties {
+    private boolean enabled = true;
+    private Duration threshold = Duration.ofMillis(100);
+    private int sampleRate = 1000;
+    private int top = 20;
+    private int maxStatements = 1000;
+    private int maxBindLength = 64;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public int getTop() {
+        return top;
+    }
+
+    public void setTop(int top) {
+        this.top = top;
+    }
+
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+
+    public void setMaxStatements(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    public int getMaxBindLength() {
+        return maxBindLength;
+    }
+
+    public void setMaxBindLength(int maxBindLength) {
+        this.maxBindLength = maxBindLength;
+    }
+}
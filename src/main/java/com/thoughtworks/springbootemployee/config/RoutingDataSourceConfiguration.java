@@ -0,0 +1,59 @@
+package com.thoughtworks.springbootemployee.config;
+
+import com.thoughtworks.springbootemployee.datasource.ReadWriteDataSource;
+import com.thoughtworks.springbootemployee.datasource.ReadWriteRoutingDataSource;
+import com.thoughtworks.springbootemployee.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+public class RoutingDataSourceConfiguration {
+
+    @Bean
+    public ReadWriteDataSource dataSource(RoutingDataSourceProperties properties) {
+        DataSource primary = pool(properties.getPrimary(), ReadWriteRoutingDataSource.PRIMARY);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<HikariConfig> replicaConfigs = properties.getReplicas();
+        for (int i = 0; i < replicaConfigs.size(); i++) {
+            String name = "replica-" + i;
+            replicas.put(name, pool(replicaConfigs.get(i), name));
+        }
+        return new ReadWriteDataSource(new ReadWriteRoutingDataSource(primary, replicas));
+    }
+
+    @Bean
+    @Lazy(false)
+    public ReplicaLagMonitor replicaLagMonitor(DataSource dataSource, RoutingDataSourceProperties properties) throws SQLException {
+        return new ReplicaLagMonitor(dataSource.unwrap(ReadWriteRoutingDataSource.class), properties.getReplicaLagQuery(),
+                properties.getMaxReplicaLag(), properties.getReplicaLagCheckInterval());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer connectionReleaseCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    private static HikariDataSource pool(HikariConfig config, String name) {
+        if (config.getPoolName() == null) {
+            config.setPoolName(name);
+        }
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,66 @@
+package com.thoughtworks.springbootemployee.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties("datasource.routing")
+public class RoutingDataSourceProperties {
+    private boolean enabled;
+    private HikariConfig primary = new HikariConfig();
+    private List<HikariConfig> replicas = new ArrayList<>();
+    private String replicaLagQuery;
+    private Duration maxReplicaLag = Duration.ofSeconds(5);
+    private Duration replicaLagCheckInterval = Duration.ofSeconds(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public HikariConfig getPrimary() {
+        return primary;
+    }
+
+    public void setPrimary(HikariConfig primary) {
+        this.primary = primary;
+    }
+
+    public List<HikariConfig> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(List<HikariConfig> replicas) {
+        this.replicas = replicas;
+    }
+
+    public String getReplicaLagQuery() {
+        return replicaLagQuery;
+    }
+
+    public void setReplicaLagQuery(String replicaLagQuery) {
+        this.replicaLagQuery = replicaLagQuery;
+    }
+
+    public Duration getMaxReplicaLag() {
+        return maxReplicaLag;
+    }
+
+    public void setMaxReplicaLag(Duration maxReplicaLag) {
+        this.maxReplicaLag = maxReplicaLag;
+    }
+
+    public Duration getReplicaLagCheckInterval() {
+        return replicaLagCheckInterval;
+    }
+
+    public void setReplicaLagCheckInterval(Duration replicaLagCheckInterval) {
+        this.replicaLagCheckInterval = replicaLagCheckInterval;
+    }
+}
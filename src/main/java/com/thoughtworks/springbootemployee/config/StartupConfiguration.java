@@ -0,0 +1,36 @@
+package com.thoughtworks.springbootemployee.config;
+
+import com.thoughtworks.springbootemployee.service.AnalyticsService;
+import com.thoughtworks.springbootemployee.service.EmployeeSearchService;
+import com.thoughtworks.springbootemployee.startup.CurrentSchemaMigrationStrategy;
+import com.thoughtworks.springbootemployee.startup.ExitOnReadyListener;
+import com.thoughtworks.springbootemployee.startup.IndexWarmUp;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+
+@Configuration
+@EnableConfigurationProperties(StartupProperties.class)
+public class StartupConfiguration {
+
+    @Bean
+    public IndexWarmUp indexWarmUp(AnalyticsService analyticsService, EmployeeSearchService employeeSearchService, StartupProperties properties) {
+        return new IndexWarmUp(Arrays.asList(analyticsService::reload, employeeSearchService::reload), properties.isAsyncWarmUp());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "startup.skip-current-migrations", havingValue = "true")
+    public FlywayMigrationStrategy currentSchemaMigrationStrategy() {
+        return new CurrentSchemaMigrationStrategy();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "startup.exit-on-ready", havingValue = "true")
+    public ExitOnReadyListener exitOnReadyListener() {
+        return new ExitOnReadyListener();
+    }
+}
@@ -0,0 +1,34 @@
+package com.thoughtworks.springbootemployee.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("startup")
+public class StartupProperties {
+    private boolean asyncWarmUp;
+    private boolean skipCurrentMigrations;
+    private boolean exitOnReady;
+
+    public boolean isAsyncWarmUp() {
+        return asyncWarmUp;
+    }
+
+    public void setAsyncWarmUp(boolean asyncWarmUp) {
+        this.asyncWarmUp = asyncWarmUp;
+    }
+
+    public boolean isSkipCurrentMigrations() {
+        return skipCurrentMigrations;
+    }
+
+    public void setSkipCurrentMigrations(boolean skipCurrentMigrations) {
+        this.skipCurrentMigrations = skipCurrentMigrations;
+    }
+
+    public boolean isExitOnReady() {
+        return exitOnReady;
+    }
+
+    public void setExitOnReady(boolean exitOnReady) {
+        this.exitOnReady = exitOnReady;
+    }
+}
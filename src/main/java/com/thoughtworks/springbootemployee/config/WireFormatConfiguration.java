@@ -0,0 +1,92 @@
+package com.thoughtworks.springbootemployee.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+@Configuration
+@ConditionalOnWebApplication
+public class WireFormatConfiguration {
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    @Bean
+    public MappingJackson2HttpMessageConverter jsonHttpMessageConverter(ObjectMapper objectMapper, ServerProperties serverProperties) {
+        return new JsonConverter(objectMapper, compressionThreshold(serverProperties));
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder, ServerProperties serverProperties) {
+        return new CborConverter(builder.factory(new CBORFactory()).build(), compressionThreshold(serverProperties));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder, ServerProperties serverProperties) {
+        return new SmileConverter(builder.factory(new SmileFactory()).build(), compressionThreshold(serverProperties));
+    }
+
+    private static int compressionThreshold(ServerProperties serverProperties) {
+        Compression compression = serverProperties.getCompression();
+        return compression.getEnabled() ? (int) compression.getMinResponseSize().toBytes() : 0;
+    }
+
+    static class JsonConverter extends MappingJackson2HttpMessageConverter {
+        private final int compressionThreshold;
+
+        JsonConverter(ObjectMapper objectMapper, int compressionThreshold) {
+            super(objectMapper);
+            this.compressionThreshold = compressionThreshold;
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+            CompressionThresholdOutputMessage message = new CompressionThresholdOutputMessage(outputMessage, compressionThreshold);
+            super.writeInternal(object, type, message);
+            message.finish();
+        }
+    }
+
+    static class CborConverter extends MappingJackson2CborHttpMessageConverter {
+        private final int compressionThreshold;
+
+        CborConverter(ObjectMapper objectMapper, int compressionThreshold) {
+            super(objectMapper);
+            this.compressionThreshold = compressionThreshold;
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+            CompressionThresholdOutputMessage message = new CompressionThresholdOutputMessage(outputMessage, compressionThreshold);
+            super.writeInternal(object, type, message);
+            message.finish();
+        }
+    }
+
+    static class SmileConverter extends MappingJackson2SmileHttpMessageConverter {
+        private final int compressionThreshold;
+
+        SmileConverter(ObjectMapper objectMapper, int compressionThreshold) {
+            super(objectMapper);
+            this.compressionThreshold = compressionThreshold;
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+            CompressionThresholdOutputMessage message = new CompressionThresholdOutputMessage(outputMessage, compressionThreshold);
+            super.writeInternal(object, type, message);
+            message.finish();
+        }
+    }
+}
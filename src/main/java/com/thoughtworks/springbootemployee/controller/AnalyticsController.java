@@ -0,0 +1,40 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import com.thoughtworks.springbootemployee.analytics.Column;
+import com.thoughtworks.springbootemployee.exception.InvalidAnalyticsQueryException;
+import com.thoughtworks.springbootemployee.requestModel.AnalyticsFilter;
+import com.thoughtworks.springbootemployee.responseModel.AnalyticsSummary;
+import com.thoughtworks.springbootemployee.responseModel.HistogramBucket;
+import com.thoughtworks.springbootemployee.service.AnalyticsService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/analytics")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    public AnalyticsController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @GetMapping("/summary")
+    public AnalyticsSummary getSummary(AnalyticsFilter filter) {
+        return analyticsService.summarize(filter);
+    }
+
+    @GetMapping("/salary-histogram")
+    public List<HistogramBucket> getSalaryHistogram(@RequestParam(defaultValue = "1000") int bucketWidth, AnalyticsFilter filter) throws InvalidAnalyticsQueryException {
+        return analyticsService.histogram(Column.SALARY, bucketWidth, filter);
+    }
+
+    @GetMapping("/age-histogram")
+    public List<HistogramBucket> getAgeHistogram(@RequestParam(defaultValue = "10") int bucketWidth, AnalyticsFilter filter) throws InvalidAnalyticsQueryException {
+        return analyticsService.histogram(Column.AGE, bucketWidth, filter);
+    }
+}
@@ -1,55 +1,137 @@
 package com.thoughtworks.springbootemployee.controller;
 
+import com.thoughtworks.springbootemployee.exception.DuplicateEmployeeIdException;
+import com.thoughtworks.springbootemployee.exception.InvalidCursorException;
+import com.thoughtworks.springbootemployee.exception.InvalidLimitException;
+import com.thoughtworks.springbootemployee.exception.InvalidFieldsException;
 import com.thoughtworks.springbootemployee.exception.NoSuchDataException;
 import com.thoughtworks.springbootemployee.exception.NotTheSameIDException;
+import com.thoughtworks.springbootemployee.exception.PreconditionFailedException;
+import com.thoughtworks.springbootemployee.exception.VersionConflictException;
+import com.thoughtworks.springbootemployee.mapper.CompanyMapper;
+import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
 import com.thoughtworks.springbootemployee.model.Company;
-import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanySummary;
+import com.thoughtworks.springbootemployee.requestModel.RequestCompany;
+import com.thoughtworks.springbootemployee.responseModel.CompanyResponse;
+import com.thoughtworks.springbootemployee.responseModel.CompanyStats;
+import com.thoughtworks.springbootemployee.responseModel.CursorPage;
+import com.thoughtworks.springbootemployee.responseModel.EmployeeResponse;
 import com.thoughtworks.springbootemployee.service.CompanyService;
+import com.thoughtworks.springbootemployee.service.VersionTags;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/companies")
 public class CompanyController {
 
     private final CompanyService companyService;
+    private final CompanyMapper companyMapper;
+    private final EmployeeMapper employeeMapper;
+    private final NdjsonWriter ndjsonWriter;
 
-    public CompanyController(CompanyService companyService) {
+    public CompanyController(CompanyService companyService, CompanyMapper companyMapper, EmployeeMapper employeeMapper, NdjsonWriter ndjsonWriter) {
         this.companyService = companyService;
+        this.companyMapper = companyMapper;
+        this.employeeMapper = employeeMapper;
+        this.ndjsonWriter = ndjsonWriter;
     }
 
     @GetMapping(params = {"page", "pageSize"})
-    public Page<Company> getCompaniesByPageAndPageSize(int page, int pageSize) {
-        return companyService.findAll(page, pageSize);
+    public Page<CompanyResponse> getCompaniesByPageAndPageSize(int page, int pageSize) {
+        return companyService.findAll(page, pageSize).map(companyMapper::companyToCompanyResponse);
+    }
+
+    @GetMapping(params = {"limit"})
+    public CursorPage<CompanyResponse> getCompaniesByCursor(String after, int limit) throws InvalidCursorException, InvalidLimitException {
+        return companyService.findAllAfter(after, limit).map(companyMapper::companyToCompanyResponse);
     }
 
     @GetMapping
-    public List<Company> getAllCompanies() {
-        return companyService.findAll();
+    public List<CompanyResponse> getAllCompanies() {
+        return companyMapper.companiesToCompanyResponses(companyService.findAll());
+    }
+
+    @GetMapping(params = {"view=summary"})
+    public List<CompanySummary> getCompanySummaries() {
+        return companyService.findAllSummaries();
+    }
+
+    @GetMapping(params = {"fields"})
+    public List<Map<String, Object>> getAllCompanyFields(@RequestParam String fields) throws InvalidFieldsException {
+        return companyService.findAllFields(fields);
+    }
+
+    @GetMapping(produces = NdjsonWriter.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamAllCompanies() {
+        return ndjsonWriter.write(companyService::forEach, companyMapper::companyToCompanyResponse);
     }
 
     @GetMapping("/{id}")
-    public Company getCompanyById(@PathVariable int id) {
-        return companyService.findById(id);
+    public ResponseEntity<CompanyResponse> getCompanyById(@PathVariable int id,
+                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String versionTag = companyService.findVersionTagById(id);
+            if (!ETags.noneMatch(ifNoneMatch, versionTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(versionTag).build();
+            }
+        }
+        Company company = companyService.findById(id);
+        if (company == null) {
+            return ResponseEntity.ok().build();
+        }
+        CompanyResponse companyResponse = companyMapper.companyToCompanyResponse(company);
+        return ResponseEntity.ok().eTag(VersionTags.of(company)).body(companyResponse);
+    }
+
+    @GetMapping(value = "/{id}", params = {"fields"})
+    public Map<String, Object> getCompanyFieldsById(@PathVariable int id, @RequestParam String fields) throws InvalidFieldsException {
+        return companyService.findFieldsById(id, fields);
+    }
+
+    @GetMapping("/stats")
+    public List<CompanyStats> getAllCompanyStats() {
+        return companyService.findAllStats();
+    }
+
+    @GetMapping("/{id}/stats")
+    public CompanyStats getCompanyStatsById(@PathVariable int id) throws NoSuchDataException {
+        return companyService.findStatsById(id);
     }
 
     @GetMapping("/{id}/employees")
-    public List<Employee> getEmployeesByCompanyId(@PathVariable int id) {
-        return companyService.findEmployeesById(id);
+    public List<EmployeeResponse> getEmployeesByCompanyId(@PathVariable int id) {
+        return employeeMapper.employeesToEmployeeResponses(companyService.findEmployeesById(id));
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Company addCompany(@RequestBody Company company) {
-        return companyService.save(company);
+    public CompanyResponse addCompany(@RequestBody RequestCompany requestCompany) throws DuplicateEmployeeIdException {
+        Company company = companyService.save(companyMapper.requestCompanyToCompany(requestCompany));
+        return companyMapper.companyToCompanyResponse(company);
     }
 
     @PutMapping("/{id}")
-    public Company updateCompany(@PathVariable int id, @RequestBody Company newCompany) throws NoSuchDataException, NotTheSameIDException {
-        return companyService.updateCompany(id, newCompany);
+    public ResponseEntity<CompanyResponse> updateCompany(@PathVariable int id, @RequestBody RequestCompany requestCompany,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws NoSuchDataException, NotTheSameIDException, PreconditionFailedException, DuplicateEmployeeIdException {
+        Company company = companyService.updateCompany(id, companyMapper.requestCompanyToCompany(requestCompany), ETags.acceptedVersionTags(ifMatch));
+        CompanyResponse companyResponse = companyMapper.companyToCompanyResponse(company);
+        return ResponseEntity.ok().eTag(VersionTags.of(company)).body(companyResponse);
+    }
+
+    @PatchMapping("/{id}")
+    public CompanyResponse patchCompany(@PathVariable int id, @RequestBody RequestCompany requestCompany) throws NoSuchDataException, NotTheSameIDException, VersionConflictException {
+        Company company = companyService.patchCompany(id, companyMapper.requestCompanyToCompany(requestCompany));
+        return companyMapper.companyToCompanyResponse(company);
     }
 
     @DeleteMapping("/{id}")
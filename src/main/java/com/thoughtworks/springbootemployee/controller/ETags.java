@@ -0,0 +1,43 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class ETags {
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETags() {
+    }
+
+    static boolean noneMatch(String ifNoneMatch, String versionTag) {
+        if (ifNoneMatch == null || versionTag == null) {
+            return true;
+        }
+        return !ANY.equals(ifNoneMatch.trim()) && !parse(ifNoneMatch, true).contains(versionTag);
+    }
+
+    static List<String> acceptedVersionTags(String ifMatch) {
+        if (ifMatch == null || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        return parse(ifMatch, false);
+    }
+
+    private static List<String> parse(String header, boolean weakComparison) {
+        List<String> versionTags = new ArrayList<>();
+        for (String entry : header.split(",")) {
+            String tag = entry.trim();
+            if (tag.startsWith(WEAK_PREFIX)) {
+                if (!weakComparison) {
+                    continue;
+                }
+                tag = tag.substring(WEAK_PREFIX.length());
+            }
+            if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                versionTags.add(tag.substring(1, tag.length() - 1));
+            }
+        }
+        return versionTags;
+    }
+}
@@ -1,58 +1,195 @@
 package com.thoughtworks.springbootemployee.controller;
 
+import com.thoughtworks.springbootemployee.csv.CsvWriter;
+import com.thoughtworks.springbootemployee.csv.EmployeeCsv;
+import com.thoughtworks.springbootemployee.exception.InvalidCsvException;
+import com.thoughtworks.springbootemployee.exception.InvalidCursorException;
+import com.thoughtworks.springbootemployee.exception.InvalidLimitException;
+import com.thoughtworks.springbootemployee.exception.InvalidFieldsException;
+import com.thoughtworks.springbootemployee.exception.InvalidFilterException;
+import com.thoughtworks.springbootemployee.exception.InvalidSearchQueryException;
 import com.thoughtworks.springbootemployee.exception.NoSuchDataException;
 import com.thoughtworks.springbootemployee.exception.NotTheSameIDException;
+import com.thoughtworks.springbootemployee.exception.PreconditionFailedException;
+import com.thoughtworks.springbootemployee.exception.VersionConflictException;
+import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.requestModel.EmployeeFilter;
+import com.thoughtworks.springbootemployee.requestModel.RequestEmployee;
+import com.thoughtworks.springbootemployee.responseModel.BatchItemResult;
+import com.thoughtworks.springbootemployee.responseModel.CursorPage;
+import com.thoughtworks.springbootemployee.responseModel.EmployeeResponse;
+import com.thoughtworks.springbootemployee.responseModel.EmployeeSearchHit;
+import com.thoughtworks.springbootemployee.responseModel.ImportReport;
+import com.thoughtworks.springbootemployee.service.EmployeeBatchService;
+import com.thoughtworks.springbootemployee.service.EmployeeSearchService;
 import com.thoughtworks.springbootemployee.service.EmployeeService;
+import com.thoughtworks.springbootemployee.service.VersionTags;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/employees")
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final EmployeeBatchService employeeBatchService;
+    private final EmployeeSearchService employeeSearchService;
+    private final EmployeeMapper employeeMapper;
+    private final NdjsonWriter ndjsonWriter;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, EmployeeBatchService employeeBatchService, EmployeeSearchService employeeSearchService,
+                              EmployeeMapper employeeMapper, NdjsonWriter ndjsonWriter) {
         this.employeeService = employeeService;
+        this.employeeBatchService = employeeBatchService;
+        this.employeeSearchService = employeeSearchService;
+        this.employeeMapper = employeeMapper;
+        this.ndjsonWriter = ndjsonWriter;
     }
 
     @GetMapping
-    public List<Employee> getAllEmployees() {
-        return employeeService.findAll();
+    public List<EmployeeResponse> getAllEmployees() {
+        return employeeMapper.employeesToEmployeeResponses(employeeService.findAll());
+    }
+
+    @GetMapping(params = {"fields"})
+    public List<Map<String, Object>> getAllEmployeeFields(@RequestParam String fields) throws InvalidFieldsException {
+        return employeeService.findAllFields(fields);
+    }
+
+    @GetMapping(produces = NdjsonWriter.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamAllEmployees() {
+        return ndjsonWriter.write(employeeService::forEach, employeeMapper::employeeToEmployeeResponse);
+    }
+
+    @GetMapping(value = "/export.csv", produces = CsvWriter.TEXT_CSV_VALUE)
+    public StreamingResponseBody exportEmployees(HttpServletResponse response) {
+        response.setContentType(CsvWriter.TEXT_CSV_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees.csv\"");
+        return outputStream -> {
+            CsvWriter csvWriter = new CsvWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            csvWriter.writeRow(EmployeeCsv.HEADER);
+            csvWriter.writeRows(employeeService::forEach, EmployeeCsv::row);
+            csvWriter.flush();
+        };
+    }
+
+    @GetMapping("/search")
+    public List<EmployeeSearchHit> searchEmployees(@RequestParam(required = false) String q, @RequestParam(defaultValue = "20") int limit)
+            throws InvalidSearchQueryException {
+        return employeeSearchService.search(q, limit);
     }
 
     @GetMapping("/{id}")
-    public Employee getEmployeeById(@PathVariable int id) {
-        return employeeService.findById(id);
+    public ResponseEntity<EmployeeResponse> getEmployeeById(@PathVariable int id,
+                                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String versionTag = employeeService.findVersionTagById(id);
+            if (!ETags.noneMatch(ifNoneMatch, versionTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(versionTag).build();
+            }
+        }
+        Employee employee = employeeService.findById(id);
+        if (employee == null) {
+            return ResponseEntity.ok().build();
+        }
+        return ResponseEntity.ok().eTag(VersionTags.of(employee)).body(employeeMapper.employeeToEmployeeResponse(employee));
+    }
+
+    @GetMapping(value = "/{id}", params = {"fields"})
+    public Map<String, Object> getEmployeeFieldsById(@PathVariable int id, @RequestParam String fields) throws InvalidFieldsException {
+        return employeeService.findFieldsById(id, fields);
     }
 
     @GetMapping(params = {"page", "pageSize"})
-    public Page<Employee> getEmployeesPagination(int page, int pageSize) {
-        return employeeService.findAll(page, pageSize);
+    public Page<EmployeeResponse> getEmployeesPagination(int page, int pageSize) {
+        return employeeService.findAll(page, pageSize).map(employeeMapper::employeeToEmployeeResponse);
+    }
+
+    @GetMapping(params = {"limit"})
+    public CursorPage<EmployeeResponse> getEmployeesByCursor(String after, int limit) throws InvalidCursorException, InvalidLimitException {
+        return employeeService.findAllAfter(after, limit).map(employeeMapper::employeeToEmployeeResponse);
     }
 
     @GetMapping(params = {"gender"})
-    public List<Employee> getEmployeesByGender(String gender) {
-        return employeeService.findAllByGender(gender);
+    public List<EmployeeResponse> getEmployeesByGender(String gender) {
+        return employeeMapper.employeesToEmployeeResponses(employeeService.findAllByGender(gender));
+    }
+
+    @GetMapping(params = {"gender", "page", "pageSize"})
+    public Page<EmployeeResponse> getEmployeesByGenderPagination(String gender, int page, int pageSize) {
+        return employeeService.findAllByGender(gender, page, pageSize).map(employeeMapper::employeeToEmployeeResponse);
+    }
+
+    @GetMapping(params = {"gender"}, produces = NdjsonWriter.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamEmployeesByGender(String gender) {
+        return ndjsonWriter.<Employee>write(employees -> employeeService.forEachByGender(gender, employees), employeeMapper::employeeToEmployeeResponse);
+    }
+
+    @GetMapping("/filter")
+    public Page<EmployeeResponse> getFilteredEmployees(EmployeeFilter filter, @RequestParam(defaultValue = "1") int page,
+                                                       @RequestParam(defaultValue = "20") int pageSize) throws InvalidFilterException {
+        return employeeService.findAll(filter, page, pageSize).map(employeeMapper::employeeToEmployeeResponse);
+    }
+
+    @GetMapping(value = "/filter", produces = NdjsonWriter.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamFilteredEmployees(EmployeeFilter filter) throws InvalidFilterException {
+        employeeService.validate(filter);
+        return ndjsonWriter.<Employee>write(employees -> employeeService.forEach(filter, employees), employeeMapper::employeeToEmployeeResponse);
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Employee addEmployee(@RequestBody Employee employee) {
-        return employeeService.save(employee);
+    public EmployeeResponse addEmployee(@RequestBody RequestEmployee requestEmployee) {
+        Employee employee = employeeService.save(employeeMapper.requestEmployeeToEmployee(requestEmployee));
+        return employeeMapper.employeeToEmployeeResponse(employee);
+    }
+
+    @PostMapping("/batch")
+    public List<BatchItemResult> addEmployees(@RequestBody List<RequestEmployee> requestEmployees) {
+        return employeeBatchService.saveAll(employeeMapper.requestEmployeesToEmployees(requestEmployees));
+    }
+
+    @PostMapping(value = "/import", consumes = CsvWriter.TEXT_CSV_VALUE)
+    public ImportReport importEmployees(InputStream body) throws IOException, InvalidCsvException {
+        return employeeBatchService.importCsv(new InputStreamReader(body, StandardCharsets.UTF_8));
     }
 
     @PutMapping("/{id}")
-    public Employee updateEmployee(@PathVariable int id, @RequestBody Employee employee) throws NoSuchDataException, NotTheSameIDException {
-        return employeeService.updateEmployee(id, employee);
+    public ResponseEntity<EmployeeResponse> updateEmployee(@PathVariable int id, @RequestBody RequestEmployee requestEmployee,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws NoSuchDataException, NotTheSameIDException, PreconditionFailedException {
+        Employee employee = employeeService.updateEmployee(id, employeeMapper.requestEmployeeToEmployee(requestEmployee), ETags.acceptedVersionTags(ifMatch));
+        return ResponseEntity.ok().eTag(VersionTags.of(employee)).body(employeeMapper.employeeToEmployeeResponse(employee));
+    }
+
+    @PatchMapping("/{id}")
+    public EmployeeResponse patchEmployee(@PathVariable int id, @RequestBody RequestEmployee requestEmployee) throws NoSuchDataException, NotTheSameIDException, VersionConflictException {
+        Employee employee = employeeService.patchEmployee(id, employeeMapper.requestEmployeeToEmployee(requestEmployee));
+        return employeeMapper.employeeToEmployeeResponse(employee);
     }
 
     @DeleteMapping("/{id}")
     public boolean deleteEmployee(@PathVariable int id) throws NoSuchDataException {
         return employeeService.deleteById(id);
     }
+
+    @DeleteMapping(params = {"ids"})
+    public int deleteEmployees(@RequestParam List<Integer> ids) throws NoSuchDataException {
+        return employeeService.deleteAllById(ids);
+    }
 }
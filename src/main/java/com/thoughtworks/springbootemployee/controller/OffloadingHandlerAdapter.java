@@ -0,0 +1,37 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+public class OffloadingHandlerAdapter extends RequestMappingHandlerAdapter {
+    private final Set<Class<?>> offloadedControllers;
+
+    public OffloadingHandlerAdapter(Set<Class<?>> offloadedControllers) {
+        this.offloadedControllers = offloadedControllers;
+    }
+
+    @Override
+    protected ServletInvocableHandlerMethod createInvocableHandlerMethod(HandlerMethod handlerMethod) {
+        if (offloadedControllers.contains(handlerMethod.getBeanType())
+                && !StreamingResponseBody.class.isAssignableFrom(handlerMethod.getReturnType().getParameterType())) {
+            return new OffloadedHandlerMethod(handlerMethod);
+        }
+        return super.createInvocableHandlerMethod(handlerMethod);
+    }
+
+    private static class OffloadedHandlerMethod extends ServletInvocableHandlerMethod {
+        private OffloadedHandlerMethod(HandlerMethod handlerMethod) {
+            super(handlerMethod);
+        }
+
+        @Override
+        protected Object doInvoke(Object... args) {
+            return (Callable<Object>) () -> OffloadedHandlerMethod.super.doInvoke(args);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.thoughtworks.springbootemployee.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CsvReader implements Closeable {
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private static final int EOF = -1;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private int line = 1;
+    private boolean started;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    public CsvRecord next() throws IOException {
+        int c = skipBlankLines();
+        if (c == EOF) {
+            return null;
+        }
+        int recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int length = 0;
+        String error = null;
+        while (true) {
+            if (c == '"' && field.length() == 0) {
+                c = read();
+                while (true) {
+                    if (c == EOF) {
+                        fields.add(field.toString());
+                        return new CsvRecord(recordLine, fields, error == null ? "unterminated quoted field" : error);
+                    }
+                    if (c == '"') {
+                        c = read();
+                        if (c != '"') {
+                            break;
+                        }
+                    } else if (isNewline(c)) {
+                        c = consumeNewline(c);
+                    }
+                    if (length++ < MAX_RECORD_LENGTH) {
+                        field.append((char) c);
+                    }
+                    c = read();
+                }
+                if (c != ',' && c != EOF && !isNewline(c) && error == null) {
+                    error = "unexpected character after quoted field";
+                }
+            }
+            while (c != ',' && c != EOF && !isNewline(c)) {
+                if (length++ < MAX_RECORD_LENGTH) {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+            if (length > MAX_RECORD_LENGTH && error == null) {
+                error = "record exceeds " + MAX_RECORD_LENGTH + " characters";
+            }
+            fields.add(error == null ? field.toString() : "");
+            field.setLength(0);
+            if (c != ',') {
+                if (c != EOF) {
+                    consumeNewline(c);
+                }
+                return new CsvRecord(recordLine, fields, error);
+            }
+            length++;
+            c = read();
+        }
+    }
+
+    private int skipBlankLines() throws IOException {
+        int c = read();
+        if (!started) {
+            started = true;
+            if (c == BYTE_ORDER_MARK) {
+                c = read();
+            }
+        }
+        while (isNewline(c)) {
+            consumeNewline(c);
+            c = read();
+        }
+        return c;
+    }
+
+    private static boolean isNewline(int c) {
+        return c == '\n' || c == '\r';
+    }
+
+    private int consumeNewline(int c) throws IOException {
+        line++;
+        if (c == '\r') {
+            if (peek() == '\n') {
+                position++;
+            }
+            return '\n';
+        }
+        return c;
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        if (c != EOF) {
+            position++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return EOF;
+            }
+        }
+        return buffer[position];
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
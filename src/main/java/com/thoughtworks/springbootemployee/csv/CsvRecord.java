@@ -0,0 +1,27 @@
+package com.thoughtworks.springbootemployee.csv;
+
+import java.util.List;
+
+public class CsvRecord {
+    private final int line;
+    private final List<String> fields;
+    private final String error;
+
+    public CsvRecord(int line, List<String> fields, String error) {
+        this.line = line;
+        this.fields = fields;
+        this.error = error;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,76 @@
+package com.thoughtworks.springbootemployee.csv;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class CsvWriter implements Flushable {
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final Writer writer;
+
+    public CsvWriter(Writer writer) {
+        this.writer = new BufferedWriter(writer);
+    }
+
+    public void writeRow(Object... values) throws IOException {
+        for (int index = 0; index < values.length; index++) {
+            if (index > 0) {
+                writer.write(',');
+            }
+            if (values[index] != null) {
+                writeField(values[index].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    public <T> void writeRows(Consumer<Consumer<T>> source, Function<T, Object[]> converter) throws IOException {
+        try {
+            source.accept(row -> {
+                try {
+                    writeRow(converter.apply(row));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeField(String value) throws IOException {
+        if (!needsQuotes(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int index = 0; index < value.length(); index++) {
+            char c = value.charAt(index);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int index = 0; index < value.length(); index++) {
+            char c = value.charAt(index);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,79 @@
+package com.thoughtworks.springbootemployee.csv;
+
+import com.thoughtworks.springbootemployee.exception.InvalidCsvException;
+import com.thoughtworks.springbootemployee.model.Employee;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class EmployeeCsv {
+    public static final Object[] HEADER = {"id", "name", "age", "gender", "salary", "companyId"};
+
+    private static final List<Object> COLUMNS = Arrays.asList(HEADER);
+    private static final List<String> REQUIRED_COLUMNS = Arrays.asList("name", "age", "gender", "salary");
+
+    private EmployeeCsv() {
+    }
+
+    public static Object[] row(Employee employee) {
+        return new Object[]{employee.getId(), employee.getName(), employee.getAge(), employee.getGender(), employee.getSalary(),
+                employee.getCompanyId()};
+    }
+
+    public static Map<String, Integer> columns(CsvRecord header) throws InvalidCsvException {
+        if (header == null || header.getError() != null) {
+            throw new InvalidCsvException();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> fields = header.getFields();
+        for (int index = 0; index < fields.size(); index++) {
+            String column = fields.get(index).trim();
+            if (!COLUMNS.contains(column) || columns.put(column, index) != null) {
+                throw new InvalidCsvException();
+            }
+        }
+        if (!columns.keySet().containsAll(REQUIRED_COLUMNS)) {
+            throw new InvalidCsvException();
+        }
+        return columns;
+    }
+
+    public static Employee parse(Map<String, Integer> columns, CsvRecord record) {
+        if (record.getError() != null) {
+            throw new IllegalArgumentException(record.getError());
+        }
+        if (record.getFields().size() != columns.size()) {
+            throw new IllegalArgumentException("expected " + columns.size() + " fields but found " + record.getFields().size());
+        }
+        String name = text(columns, record, "name");
+        String gender = text(columns, record, "gender");
+        Employee employee = new Employee(null, name, integer(columns, record, "age"), gender, integer(columns, record, "salary"));
+        if (columns.containsKey("companyId") && !field(columns, record, "companyId").isEmpty()) {
+            employee.setCompanyId(integer(columns, record, "companyId"));
+        }
+        return employee;
+    }
+
+    private static String text(Map<String, Integer> columns, CsvRecord record, String column) {
+        String value = field(columns, record, column);
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException(column + " must not be blank");
+        }
+        return value;
+    }
+
+    private static Integer integer(Map<String, Integer> columns, CsvRecord record, String column) {
+        String value = text(columns, record, column);
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " must be an integer");
+        }
+    }
+
+    private static String field(Map<String, Integer> columns, CsvRecord record, String column) {
+        return record.getFields().get(columns.get(column)).trim();
+    }
+}
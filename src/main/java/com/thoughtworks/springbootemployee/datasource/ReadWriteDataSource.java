@@ -0,0 +1,20 @@
+package com.thoughtworks.springbootemployee.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public class ReadWriteDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+    private final ReadWriteRoutingDataSource routingDataSource;
+
+    public ReadWriteDataSource(ReadWriteRoutingDataSource routingDataSource) {
+        super(routingDataSource);
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Override
+    public void close() throws IOException {
+        routingDataSource.close();
+    }
+}
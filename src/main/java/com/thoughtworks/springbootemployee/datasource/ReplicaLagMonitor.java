@@ -0,0 +1,80 @@
+package com.thoughtworks.springbootemployee.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class ReplicaLagMonitor implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(ReadWriteRoutingDataSource routingDataSource, String lagQuery, Duration maxLag, Duration checkInterval) {
+        this.routingDataSource = routingDataSource;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        if (lagQuery == null && !routingDataSource.getReplicas().isEmpty()) {
+            LOGGER.warn("No replica lag query is configured, routing all reads to the primary");
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresh();
+        scheduler.scheduleWithFixedDelay(this::refresh, checkInterval.toMillis(), checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void refresh() {
+        List<String> healthyReplicas = new ArrayList<>();
+        for (Map.Entry<String, DataSource> replica : routingDataSource.getReplicas().entrySet()) {
+            if (isWithinLag(replica.getKey(), replica.getValue())) {
+                healthyReplicas.add(replica.getKey());
+            }
+        }
+        routingDataSource.setHealthyReplicas(healthyReplicas);
+    }
+
+    private boolean isWithinLag(String name, DataSource replica) {
+        if (lagQuery == null) {
+            return false;
+        }
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                LOGGER.warn("Replica {} returned no lag, routing reads to the primary", name);
+                return false;
+            }
+            long lagMillis = resultSet.getLong(1);
+            if (lagMillis > maxLag.toMillis()) {
+                LOGGER.warn("Replica {} is {} ms behind, routing reads to the primary", name, lagMillis);
+                return false;
+            }
+            return true;
+        } catch (SQLException e) {
+            LOGGER.warn("Replica {} lag check failed, routing reads to the primary: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
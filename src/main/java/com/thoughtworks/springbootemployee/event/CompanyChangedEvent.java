@@ -0,0 +1,15 @@
+package com.thoughtworks.springbootemployee.event;
+
+import com.thoughtworks.springbootemployee.model.Company;
+
+public class CompanyChangedEvent {
+    private final Company company;
+
+    public CompanyChangedEvent(Company company) {
+        this.company = company;
+    }
+
+    public Company getCompany() {
+        return company;
+    }
+}
@@ -0,0 +1,13 @@
+package com.thoughtworks.springbootemployee.event;
+
+public class CompanyDeletedEvent {
+    private final int companyId;
+
+    public CompanyDeletedEvent(int companyId) {
+        this.companyId = companyId;
+    }
+
+    public int getCompanyId() {
+        return companyId;
+    }
+}
@@ -0,0 +1,38 @@
+package com.thoughtworks.springbootemployee.event;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public class EmployeeChangedEvent {
+    private final List<Employee> savedEmployees;
+    private final List<Integer> deletedIds;
+
+    private EmployeeChangedEvent(List<Employee> savedEmployees, List<Integer> deletedIds) {
+        this.savedEmployees = savedEmployees;
+        this.deletedIds = deletedIds;
+    }
+
+    public static EmployeeChangedEvent saved(Employee employee) {
+        return new EmployeeChangedEvent(Collections.singletonList(employee), Collections.emptyList());
+    }
+
+    public static EmployeeChangedEvent saved(Collection<Employee> employees) {
+        return new EmployeeChangedEvent(new ArrayList<>(employees), Collections.emptyList());
+    }
+
+    public static EmployeeChangedEvent deleted(Collection<Integer> ids) {
+        return new EmployeeChangedEvent(Collections.emptyList(), new ArrayList<>(ids));
+    }
+
+    public List<Employee> getSavedEmployees() {
+        return savedEmployees;
+    }
+
+    public List<Integer> getDeletedIds() {
+        return deletedIds;
+    }
+}
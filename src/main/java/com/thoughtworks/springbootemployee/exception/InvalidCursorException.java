@@ -0,0 +1,4 @@
+package com.thoughtworks.springbootemployee.exception;
+
+public class InvalidCursorException extends Exception {
+}
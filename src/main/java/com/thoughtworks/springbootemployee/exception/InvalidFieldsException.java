@@ -0,0 +1,4 @@
+package com.thoughtworks.springbootemployee.exception;
+
+public class InvalidFieldsException extends Exception {
+}
@@ -1,7 +1,18 @@
 package com.thoughtworks.springbootemployee.exceptionHandler;
 
+import com.thoughtworks.springbootemployee.exception.DuplicateEmployeeIdException;
+import com.thoughtworks.springbootemployee.exception.InvalidAnalyticsQueryException;
+import com.thoughtworks.springbootemployee.exception.InvalidCsvException;
+import com.thoughtworks.springbootemployee.exception.InvalidCursorException;
+import com.thoughtworks.springbootemployee.exception.InvalidFieldsException;
+import com.thoughtworks.springbootemployee.exception.InvalidFilterException;
+import com.thoughtworks.springbootemployee.exception.InvalidLimitException;
+import com.thoughtworks.springbootemployee.exception.InvalidSearchQueryException;
 import com.thoughtworks.springbootemployee.exception.NoSuchDataException;
 import com.thoughtworks.springbootemployee.exception.NotTheSameIDException;
+import com.thoughtworks.springbootemployee.exception.PreconditionFailedException;
+import com.thoughtworks.springbootemployee.exception.VersionConflictException;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ResponseBody;
@@ -23,4 +34,81 @@ public class ExceptionHandler {
     String handleNotTheSameIDException() {
         return "The ids are different.";
     }
+
+    @org.springframework.web.bind.annotation.ExceptionHandler(InvalidCursorException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    String handleInvalidCursorException() {
+        return "The cursor is invalid.";
+    }
+
+    @org.springframework.web.bind.annotation.ExceptionHandler(VersionConflictException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.CONFLICT)
+    String handleVersionConflictException() {
+        return "The version is out of date.";
+    }
+
+    @org.springframework.web.bind.annotation.ExceptionHandler(PreconditionFailedException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    String handlePreconditionFailedException() {
+        return "The resource has been modified.";
+    }
+
+    @org.springframework.web.bind.annotation.ExceptionHandler(InvalidAnalyticsQueryException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    String handleInvalidAnalyticsQueryException() {
+        return "The analytics query is invalid.";
+    }
+
+    @org.springframework.web.bind.annotation.ExceptionHandler(InvalidFieldsException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    String handleInvalidFieldsException() {
+        return "The fields are invalid.";
+    }
+
+    @org.springframework.web.bind.annotation.ExceptionHandler(InvalidFilterException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    String handleInvalidFilterException() {
+        return "The filter is invalid.";
+    }
+
+    @org.springframework.web.bind.annotation.ExceptionHandler(DuplicateEmployeeIdException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    String handleDuplicateEmployeeIdException() {
+        return "The employees contain duplicate ids.";
+    }
+
+    @org.springframework.web.bind.annotation.ExceptionHandler(InvalidCsvException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    String handleInvalidCsvException() {
+        return "The CSV file is invalid.";
+    }
+
+    @org.springframework.web.bind.annotation.ExceptionHandler(InvalidLimitException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    String handleInvalidLimitException() {
+        return "The limit is invalid.";
+    }
+
+    @org.springframework.web.bind.annotation.ExceptionHandler(InvalidSearchQueryException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    String handleInvalidSearchQueryException() {
+        return "The search query is invalid.";
+    }
+
+    @org.springframework.web.bind.annotation.ExceptionHandler(TaskRejectedException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    String handleTaskRejectedException() {
+        return "The server is busy.";
+    }
 }
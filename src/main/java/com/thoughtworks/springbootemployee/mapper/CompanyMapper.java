@@ -2,16 +2,45 @@ package com.thoughtworks.springbootemployee.mapper;
 
 import com.thoughtworks.springbootemployee.model.Company;
 import com.thoughtworks.springbootemployee.requestModel.RequestCompany;
-import org.springframework.beans.BeanUtils;
+import com.thoughtworks.springbootemployee.responseModel.CompanyResponse;
+import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
 public class CompanyMapper {
+    private final EmployeeMapper employeeMapper;
+
+    public CompanyMapper(EmployeeMapper employeeMapper) {
+        this.employeeMapper = employeeMapper;
+    }
 
     public Company requestCompanyToCompany(RequestCompany requestCompany) {
         if (requestCompany != null) {
-            Company company = new Company();
-            BeanUtils.copyProperties(requestCompany, company);
+            Company company = new Company(requestCompany.getId(), requestCompany.getCompanyName(), requestCompany.getEmployeeNumber(),
+                    employeeMapper.requestEmployeesToEmployees(requestCompany.getEmployees()));
+            company.setVersion(requestCompany.getVersion());
             return company;
         }
         return null;
     }
+
+    public CompanyResponse companyToCompanyResponse(Company company) {
+        if (company != null) {
+            CompanyResponse companyResponse = new CompanyResponse(company.getId(), company.getCompanyName(), company.getEmployeeNumber(),
+                    employeeMapper.employeesToEmployeeResponses(company.getEmployees()));
+            companyResponse.setVersion(company.getVersion());
+            return companyResponse;
+        }
+        return null;
+    }
+
+    public List<CompanyResponse> companiesToCompanyResponses(List<Company> companies) {
+        List<CompanyResponse> companyResponses = new ArrayList<>(companies.size());
+        for (Company company : companies) {
+            companyResponses.add(companyToCompanyResponse(company));
+        }
+        return companyResponses;
+    }
 }
@@ -2,16 +2,55 @@ package com.thoughtworks.springbootemployee.mapper;
 
 import com.thoughtworks.springbootemployee.model.Employee;
 import com.thoughtworks.springbootemployee.requestModel.RequestEmployee;
-import org.springframework.beans.BeanUtils;
+import com.thoughtworks.springbootemployee.responseModel.EmployeeResponse;
+import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
 public class EmployeeMapper {
 
     public Employee requestEmployeeToEmployee(RequestEmployee requestEmployee) {
         if (requestEmployee != null) {
-            Employee employee = new Employee();
-            BeanUtils.copyProperties(requestEmployee, employee);
+            Employee employee = new Employee(requestEmployee.getId(), requestEmployee.getName(), requestEmployee.getAge(),
+                    requestEmployee.getGender(), requestEmployee.getSalary());
+            employee.setCompanyId(requestEmployee.getCompanyId());
+            employee.setVersion(requestEmployee.getVersion());
             return employee;
         }
         return null;
     }
+
+    public List<Employee> requestEmployeesToEmployees(List<RequestEmployee> requestEmployees) {
+        if (requestEmployees != null) {
+            List<Employee> employees = new ArrayList<>(requestEmployees.size());
+            for (RequestEmployee requestEmployee : requestEmployees) {
+                employees.add(requestEmployeeToEmployee(requestEmployee));
+            }
+            return employees;
+        }
+        return null;
+    }
+
+    public EmployeeResponse employeeToEmployeeResponse(Employee employee) {
+        if (employee != null) {
+            EmployeeResponse employeeResponse = new EmployeeResponse(employee.getId(), employee.getName(), employee.getAge(),
+                    employee.getGender(), employee.getSalary(), employee.getCompanyId());
+            employeeResponse.setVersion(employee.getVersion());
+            return employeeResponse;
+        }
+        return null;
+    }
+
+    public List<EmployeeResponse> employeesToEmployeeResponses(List<Employee> employees) {
+        if (employees != null) {
+            List<EmployeeResponse> employeeResponses = new ArrayList<>(employees.size());
+            for (Employee employee : employees) {
+                employeeResponses.add(employeeToEmployeeResponse(employee));
+            }
+            return employeeResponses;
+        }
+        return null;
+    }
 }
@@ -0,0 +1,62 @@
+package com.thoughtworks.springbootemployee.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.Callable;
+
+public class SqlStatementMetricsInterceptor implements AsyncHandlerInterceptor, CallableProcessingInterceptor {
+    public static final String METRIC_NAME = "http.server.requests.sql.statements";
+    private static final String OFFLOADED_STATEMENTS = SqlStatementMetricsInterceptor.class.getName() + ".offloadedStatements";
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            SqlStatementCounter.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatementCounter.stop();
+    }
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        SqlStatementCounter.start();
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        request.setAttribute(OFFLOADED_STATEMENTS, SqlStatementCounter.stop(), RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception) {
+        if (handler instanceof HandlerMethod) {
+            DistributionSummary.builder(METRIC_NAME)
+                    .tag("handler", HandlerTagsContributor.handlerName(handler))
+                    .register(meterRegistry)
+                    .record(SqlStatementCounter.stop() + offloadedStatements(request));
+        }
+    }
+
+    private static int offloadedStatements(HttpServletRequest request) {
+        Object statements = request.getAttribute(OFFLOADED_STATEMENTS);
+        return statements == null ? 0 : (Integer) statements;
+    }
+}
@@ -1,5 +1,7 @@
 package com.thoughtworks.springbootemployee.model;
 
+import org.hibernate.annotations.BatchSize;
+
 import javax.persistence.*;
 import java.util.List;
 
@@ -10,7 +12,10 @@ public class Company {
     private Integer id;
     private String companyName;
     private Integer employeeNumber;
+    @Version
+    private Integer version;
     @OneToMany(cascade = {CascadeType.ALL}, mappedBy = "companyId")
+    @BatchSize(size = 100)
     private List<Employee> employees;
 
     public Company() {
@@ -51,6 +56,14 @@ public class Company {
         this.employeeNumber = employeeNumber;
     }
 
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     public List<Employee> getEmployees() {
         return employees;
     }
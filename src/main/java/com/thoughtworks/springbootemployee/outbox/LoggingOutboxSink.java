@@ -0,0 +1,18 @@
+package com.thoughtworks.springbootemployee.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+public class LoggingOutboxSink implements OutboxSink {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoggingOutboxSink.class);
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            LOGGER.info("Outbox event {} {} {} {}: {}", event.getId(), event.getAggregateType(), event.getAggregateId(),
+                    event.getEventType(), event.getPayload());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.thoughtworks.springbootemployee.outbox;
+
+import java.time.Instant;
+
+public class OutboxEvent {
+    private final long id;
+    private final String aggregateType;
+    private final int aggregateId;
+    private final String eventType;
+    private final String payload;
+    private final Instant createdAt;
+
+    public OutboxEvent(long id, String aggregateType, int aggregateId, String eventType, String payload, Instant createdAt) {
+        this.id = id;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public int getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,130 @@
+package com.thoughtworks.springbootemployee.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoughtworks.springbootemployee.event.CompanyChangedEvent;
+import com.thoughtworks.springbootemployee.event.CompanyDeletedEvent;
+import com.thoughtworks.springbootemployee.event.EmployeeChangedEvent;
+import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class OutboxRecorder {
+    public static final String EMPLOYEE = "employee";
+    public static final String COMPANY = "company";
+    public static final String SAVED = "saved";
+    public static final String DELETED = "deleted";
+
+    private final OutboxRepository outboxRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final EmployeeMapper employeeMapper;
+
+    public OutboxRecorder(OutboxRepository outboxRepository, EntityManager entityManager, ObjectMapper objectMapper, EmployeeMapper employeeMapper) {
+        this.outboxRepository = outboxRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.employeeMapper = employeeMapper;
+    }
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        for (Employee employee : event.getSavedEmployees()) {
+            record(EMPLOYEE, employee.getId(), SAVED, () -> employeeMapper.employeeToEmployeeResponse(employee));
+        }
+        for (Integer id : event.getDeletedIds()) {
+            record(EMPLOYEE, id, DELETED, null);
+        }
+    }
+
+    @EventListener
+    public void onCompanyChanged(CompanyChangedEvent event) {
+        Company company = event.getCompany();
+        record(COMPANY, company.getId(), SAVED, () -> companyPayload(company));
+    }
+
+    @EventListener
+    public void onCompanyDeleted(CompanyDeletedEvent event) {
+        record(COMPANY, event.getCompanyId(), DELETED, null);
+    }
+
+    private static Map<String, Object> companyPayload(Company company) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", company.getId());
+        payload.put("companyName", company.getCompanyName());
+        payload.put("employeeNumber", company.getEmployeeNumber());
+        payload.put("version", company.getVersion());
+        return payload;
+    }
+
+    private void record(String aggregateType, int aggregateId, String eventType, Supplier<Object> payload) {
+        PendingEvent event = new PendingEvent(aggregateType, aggregateId, eventType, payload);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            outboxRepository.insertAll(Collections.singletonList(event.toOutboxEvent()));
+            return;
+        }
+        TransactionBuffer buffer = (TransactionBuffer) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null) {
+            buffer = new TransactionBuffer();
+            TransactionSynchronizationManager.bindResource(this, buffer);
+            TransactionSynchronizationManager.registerSynchronization(buffer);
+        }
+        buffer.events.add(event);
+    }
+
+    private final class PendingEvent {
+        private final String aggregateType;
+        private final int aggregateId;
+        private final String eventType;
+        private final Supplier<Object> payload;
+        private final Instant createdAt = Instant.now();
+
+        private PendingEvent(String aggregateType, int aggregateId, String eventType, Supplier<Object> payload) {
+            this.aggregateType = aggregateType;
+            this.aggregateId = aggregateId;
+            this.eventType = eventType;
+            this.payload = payload;
+        }
+
+        private OutboxEvent toOutboxEvent() {
+            try {
+                String json = payload == null ? null : objectMapper.writeValueAsString(payload.get());
+                return new OutboxEvent(0, aggregateType, aggregateId, eventType, json, createdAt);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private final class TransactionBuffer implements TransactionSynchronization {
+        private final List<PendingEvent> events = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            entityManager.flush();
+            List<OutboxEvent> outboxEvents = new ArrayList<>(events.size());
+            for (PendingEvent event : events) {
+                outboxEvents.add(event.toOutboxEvent());
+            }
+            outboxRepository.insertAll(outboxEvents);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(OutboxRecorder.this);
+        }
+    }
+}
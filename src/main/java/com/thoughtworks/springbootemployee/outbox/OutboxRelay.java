@@ -0,0 +1,67 @@
+package com.thoughtworks.springbootemployee.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class OutboxRelay implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxRepository outboxRepository;
+    private final List<OutboxSink> sinks;
+    private final int batchSize;
+    private final ScheduledExecutorService scheduler;
+
+    public OutboxRelay(OutboxRepository outboxRepository, List<OutboxSink> sinks, int batchSize, Duration interval) {
+        this.outboxRepository = outboxRepository;
+        this.sinks = sinks;
+        this.batchSize = batchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::relayQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized int relay() throws Exception {
+        int relayed = 0;
+        while (true) {
+            List<OutboxEvent> events = outboxRepository.findFirst(batchSize);
+            if (events.isEmpty()) {
+                return relayed;
+            }
+            for (OutboxSink sink : sinks) {
+                sink.publish(events);
+            }
+            List<Long> ids = new ArrayList<>(events.size());
+            for (OutboxEvent event : events) {
+                ids.add(event.getId());
+            }
+            outboxRepository.deleteAll(ids);
+            relayed += events.size();
+            if (events.size() < batchSize) {
+                return relayed;
+            }
+        }
+    }
+
+    private void relayQuietly() {
+        try {
+            relay();
+        } catch (Exception e) {
+            LOGGER.warn("Outbox relay failed, retrying on the next run: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
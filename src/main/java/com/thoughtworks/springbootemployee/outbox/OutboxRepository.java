@@ -0,0 +1,44 @@
+package com.thoughtworks.springbootemployee.outbox;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public class OutboxRepository {
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public OutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public void insertAll(List<OutboxEvent> events) {
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            rows.add(new Object[]{event.getAggregateType(), event.getAggregateId(), event.getEventType(), event.getPayload(),
+                    Timestamp.from(event.getCreatedAt())});
+        }
+        jdbcTemplate.batchUpdate("insert into outbox_event (aggregate_type, aggregate_id, event_type, payload, created_at) values (?, ?, ?, ?, ?)", rows);
+    }
+
+    public List<OutboxEvent> findFirst(int limit) {
+        return jdbcTemplate.query("select id, aggregate_type, aggregate_id, event_type, payload, created_at from outbox_event order by id limit ?",
+                (row, rowNumber) -> new OutboxEvent(row.getLong("id"), row.getString("aggregate_type"), row.getInt("aggregate_id"),
+                        row.getString("event_type"), row.getString("payload"), row.getTimestamp("created_at").toInstant()),
+                limit);
+    }
+
+    public int deleteAll(Collection<Long> ids) {
+        return namedParameterJdbcTemplate.update("delete from outbox_event where id in (:ids)", Collections.singletonMap("ids", ids));
+    }
+
+    public long count() {
+        return jdbcTemplate.queryForObject("select count(*) from outbox_event", Long.class);
+    }
+}
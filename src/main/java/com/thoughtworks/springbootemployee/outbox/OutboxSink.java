@@ -0,0 +1,7 @@
+package com.thoughtworks.springbootemployee.outbox;
+
+import java.util.List;
+
+public interface OutboxSink {
+    void publish(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,208 @@
+package com.thoughtworks.springbootemployee.querylog;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+public class QueryLogDataSource extends DelegatingDataSource implements Closeable {
+    private static final Object[] NO_BINDS = new Object[0];
+
+    private final Supplier<SlowQueryLog> slowQueryLog;
+
+    public QueryLogDataSource(DataSource targetDataSource, Supplier<SlowQueryLog> slowQueryLog) {
+        super(targetDataSource);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (getTargetDataSource() instanceof Closeable) {
+            ((Closeable) getTargetDataSource()).close();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(QueryLogDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+            return target == unwrapProxy(args[0]);
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Object unwrapProxy(Object object) {
+        if (object != null && Proxy.isProxyClass(object.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(object);
+            if (handler instanceof ConnectionHandler) {
+                return ((ConnectionHandler) handler).connection;
+            }
+            if (handler instanceof StatementHandler) {
+                return ((StatementHandler) handler).statement;
+            }
+            if (handler instanceof ResultSetHandler) {
+                return ((ResultSetHandler) handler).resultSet;
+            }
+        }
+        return object;
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        private ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = QueryLogDataSource.invoke(connection, method, args);
+            if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                return proxy(method.getReturnType(), new StatementHandler((Statement) result, sql));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String preparedSql;
+        private Object[] binds = NO_BINDS;
+        private int bindCount;
+        private String querySql;
+        private Object[] queryBinds;
+        private long queryNanos;
+        private long queryRows;
+
+        private StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer && statement instanceof PreparedStatement) {
+                bind((Integer) args[0], "setNull".equals(name) ? null : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                bindCount = 0;
+            } else if ("close".equals(name)) {
+                recordQuery();
+            }
+            Object result = QueryLogDataSource.invoke(statement, method, args);
+            if ("getResultSet".equals(name) && result != null && querySql != null) {
+                return proxy(ResultSet.class, new ResultSetHandler((ResultSet) result, this));
+            }
+            return result;
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            recordQuery();
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+            long start = System.nanoTime();
+            Object result = QueryLogDataSource.invoke(statement, method, args);
+            long nanos = System.nanoTime() - start;
+            if (result instanceof ResultSet) {
+                startQuery(sql, nanos);
+                return proxy(ResultSet.class, new ResultSetHandler((ResultSet) result, this));
+            }
+            if (result instanceof Boolean) {
+                if ((Boolean) result) {
+                    startQuery(sql, nanos);
+                } else {
+                    slowQueryLog.get().record(sql, binds, bindCount, statement.getUpdateCount(), nanos);
+                }
+            } else if (result instanceof Number) {
+                slowQueryLog.get().record(sql, binds, bindCount, ((Number) result).longValue(), nanos);
+            } else if (result instanceof int[]) {
+                slowQueryLog.get().record(sql, binds, bindCount, Arrays.stream((int[]) result).filter(rows -> rows > 0).sum(), nanos);
+            } else if (result instanceof long[]) {
+                slowQueryLog.get().record(sql, binds, bindCount, Arrays.stream((long[]) result).filter(rows -> rows > 0).sum(), nanos);
+            }
+            return result;
+        }
+
+        private void bind(int index, Object value) {
+            if (index > binds.length) {
+                binds = Arrays.copyOf(binds, Math.max(index, binds.length * 2));
+            }
+            binds[index - 1] = value;
+            bindCount = Math.max(bindCount, index);
+        }
+
+        private void startQuery(String sql, long nanos) {
+            querySql = sql;
+            queryBinds = Arrays.copyOf(binds, bindCount);
+            queryNanos = nanos;
+            queryRows = 0;
+        }
+
+        private void recordQuery() {
+            if (querySql != null) {
+                slowQueryLog.get().record(querySql, queryBinds, queryBinds.length, queryRows, queryNanos);
+                querySql = null;
+                queryBinds = null;
+            }
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet resultSet;
+        private final StatementHandler statementHandler;
+
+        private ResultSetHandler(ResultSet resultSet, StatementHandler statementHandler) {
+            this.resultSet = resultSet;
+            this.statementHandler = statementHandler;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("next".equals(name)) {
+                long start = System.nanoTime();
+                Object hasRow = QueryLogDataSource.invoke(resultSet, method, args);
+                statementHandler.queryNanos += System.nanoTime() - start;
+                if ((Boolean) hasRow) {
+                    statementHandler.queryRows++;
+                }
+                return hasRow;
+            }
+            if ("close".equals(name)) {
+                statementHandler.recordQuery();
+            }
+            return QueryLogDataSource.invoke(resultSet, method, args);
+        }
+    }
+}
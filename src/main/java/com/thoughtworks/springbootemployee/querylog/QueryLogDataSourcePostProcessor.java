@@ -0,0 +1,22 @@
+package com.thoughtworks.springbootemployee.querylog;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+public class QueryLogDataSourcePostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+
+    public QueryLogDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !(bean instanceof QueryLogDataSource)) {
+            return new QueryLogDataSource((DataSource) bean, slowQueryLog::getObject);
+        }
+        return bean;
+    }
+}
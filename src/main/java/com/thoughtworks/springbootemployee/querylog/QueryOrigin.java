@@ -0,0 +1,31 @@
+package com.thoughtworks.springbootemployee.querylog;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryOrigin {
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    public static String current() {
+        String origin = CURRENT.get();
+        return origin == null ? "none" : origin;
+    }
+
+    @Around("execution(public * com.thoughtworks.springbootemployee.service.*Service.*(..))")
+    public Object track(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (CURRENT.get() != null) {
+            return joinPoint.proceed();
+        }
+        CURRENT.set(joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+}
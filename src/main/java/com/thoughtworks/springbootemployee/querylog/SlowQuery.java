@@ -0,0 +1,55 @@
+package com.thoughtworks.springbootemployee.querylog;
+
+import java.util.List;
+
+public class SlowQuery {
+    private final String sql;
+    private final long count;
+    private final double totalMillis;
+    private final double maxMillis;
+    private final long maxRows;
+    private final String maxOrigin;
+    private final List<String> maxBinds;
+
+    public SlowQuery(String sql, long count, double totalMillis, double maxMillis, long maxRows, String maxOrigin, List<String> maxBinds) {
+        this.sql = sql;
+        this.count = count;
+        this.totalMillis = totalMillis;
+        this.maxMillis = maxMillis;
+        this.maxRows = maxRows;
+        this.maxOrigin = maxOrigin;
+        this.maxBinds = maxBinds;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    public double getAverageMillis() {
+        return totalMillis / count;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public long getMaxRows() {
+        return maxRows;
+    }
+
+    public String getMaxOrigin() {
+        return maxOrigin;
+    }
+
+    public List<String> getMaxBinds() {
+        return maxBinds;
+    }
+}
@@ -0,0 +1,99 @@
+package com.thoughtworks.springbootemployee.querylog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+public class SlowQueryLog {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SlowQueryLog.class);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final long thresholdNanos;
+    private final int sampleRate;
+    private final int top;
+    private final int maxStatements;
+    private final int maxBindLength;
+    private final AtomicLong executions = new AtomicLong();
+    private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+
+    public SlowQueryLog(Duration threshold, int sampleRate, int top, int maxStatements, int maxBindLength) {
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.top = top;
+        this.maxStatements = maxStatements;
+        this.maxBindLength = maxBindLength;
+    }
+
+    public void record(String sql, Object[] binds, int bindCount, long rows, long nanos) {
+        String origin = QueryOrigin.current();
+        if (nanos >= thresholdNanos) {
+            LOGGER.warn("Slow query took {} ms, {} rows, from {}: {} binds {}",
+                    nanos / NANOS_PER_MILLI, rows, origin, sql, formatBinds(binds, bindCount));
+        } else if (sampleRate > 0 && executions.incrementAndGet() % sampleRate == 0) {
+            LOGGER.info("Sampled query took {} ms, {} rows, from {}: {} binds {}",
+                    nanos / NANOS_PER_MILLI, rows, origin, sql, formatBinds(binds, bindCount));
+        }
+        Statistics sqlStatistics = statistics.get(sql);
+        if (sqlStatistics == null) {
+            if (statistics.size() >= maxStatements) {
+                return;
+            }
+            sqlStatistics = statistics.computeIfAbsent(sql, key -> new Statistics());
+        }
+        sqlStatistics.add(binds, bindCount, rows, nanos, origin);
+    }
+
+    public List<SlowQuery> top() {
+        List<SlowQuery> queries = new ArrayList<>(statistics.size());
+        statistics.forEach((sql, sqlStatistics) -> queries.add(sqlStatistics.snapshot(sql)));
+        return queries.stream()
+                .sorted(Comparator.comparingDouble(SlowQuery::getMaxMillis).reversed())
+                .limit(top)
+                .collect(Collectors.toList());
+    }
+
+    public void reset() {
+        statistics.clear();
+    }
+
+    private List<String> formatBinds(Object[] binds, int bindCount) {
+        List<String> formatted = new ArrayList<>(bindCount);
+        for (int i = 0; i < bindCount; i++) {
+            String value = String.valueOf(binds[i]);
+            formatted.add(value.length() > maxBindLength ? value.substring(0, maxBindLength) + "..." : value);
+        }
+        return formatted;
+    }
+
+    private final class Statistics {
+        private long count;
+        private long totalNanos;
+        private long maxNanos = -1;
+        private long maxRows;
+        private String maxOrigin;
+        private List<String> maxBinds;
+
+        private synchronized void add(Object[] binds, int bindCount, long rows, long nanos, String origin) {
+            count++;
+            totalNanos += nanos;
+            if (nanos > maxNanos) {
+                maxNanos = nanos;
+                maxRows = rows;
+                maxOrigin = origin;
+                maxBinds = formatBinds(binds, bindCount);
+            }
+        }
+
+        private synchronized SlowQuery snapshot(String sql) {
+            return new SlowQuery(sql, count, totalNanos / NANOS_PER_MILLI, maxNanos / NANOS_PER_MILLI, maxRows, maxOrigin, maxBinds);
+        }
+    }
+}
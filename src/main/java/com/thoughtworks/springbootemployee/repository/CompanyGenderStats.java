@@ -0,0 +1,17 @@
+package com.thoughtworks.springbootemployee.repository;
+
+public interface CompanyGenderStats {
+    Integer getCompanyId();
+
+    String getGender();
+
+    Long getHeadcount();
+
+    Long getSalaryCount();
+
+    Long getSalaryTotal();
+
+    Integer getMinSalary();
+
+    Integer getMaxSalary();
+}
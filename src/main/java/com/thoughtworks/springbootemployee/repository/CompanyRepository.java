@@ -1,9 +1,57 @@
 package com.thoughtworks.springbootemployee.repository;
 
 import com.thoughtworks.springbootemployee.model.Company;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 @Repository
-public interface CompanyRepository extends JpaRepository<Company, Integer> {
+public interface CompanyRepository extends JpaRepository<Company, Integer>, CompanyRepositoryCustom {
+    List<Company> findAllByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
+
+    List<CompanySummary> findSummariesByOrderByIdAsc();
+
+    @Query("select c.version as companyVersion, e.id as employeeId, e.version as employeeVersion "
+            + "from Company c left join c.employees e where c.id = :id")
+    List<CompanyVersionRow> findVersionRowsById(@Param("id") Integer id);
+
+    @Query("select c from Company c")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    Stream<Company> streamAll();
+
+    @Modifying
+    @Query("delete from Company c where c.id = :id")
+    int bulkDeleteById(@Param("id") Integer id);
+
+    @Modifying
+    @Query("update Company c set c.employeeNumber = coalesce(c.employeeNumber, 0) + :delta where c.id = :id")
+    int adjustEmployeeNumber(@Param("id") Integer id, @Param("delta") int delta);
+
+    @Modifying
+    @Query("update Company c set c.employeeNumber = c.employeeNumber - " +
+            "(select count(e) from Employee e where e.companyId = c.id and e.id in :employeeIds) " +
+            "where c.id in (select e.companyId from Employee e where e.id in :employeeIds)")
+    int decrementEmployeeNumberByEmployeeIdIn(@Param("employeeIds") Collection<Integer> employeeIds);
+
+    @Query("select c.id as companyId, e.gender as gender, count(e.id) as headcount, count(e.salary) as salaryCount, " +
+            "sum(e.salary) as salaryTotal, min(e.salary) as minSalary, max(e.salary) as maxSalary " +
+            "from Company c left join c.employees e where c.id = :id group by c.id, e.gender")
+    List<CompanyGenderStats> findGenderStatsById(@Param("id") Integer id);
+
+    @Query("select c.id as companyId, e.gender as gender, count(e.id) as headcount, count(e.salary) as salaryCount, " +
+            "sum(e.salary) as salaryTotal, min(e.salary) as minSalary, max(e.salary) as maxSalary " +
+            "from Company c left join c.employees e group by c.id, e.gender order by c.id")
+    List<CompanyGenderStats> findAllGenderStats();
 }
@@ -0,0 +1,15 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Company;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface CompanyRepositoryCustom {
+    List<Map<String, Object>> findAllFields(List<String> fields);
+
+    Optional<Map<String, Object>> findFieldsById(int id, List<String> fields);
+
+    Optional<Company> patch(int id, Company patchedCompany);
+}
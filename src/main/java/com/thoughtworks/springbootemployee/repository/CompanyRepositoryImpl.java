@@ -0,0 +1,40 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Company;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class CompanyRepositoryImpl implements CompanyRepositoryCustom {
+    private static final String[] COLUMNS = {"id", "company_name", "employee_number", "version"};
+
+    private final EntityManager entityManager;
+
+    public CompanyRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllFields(List<String> fields) {
+        return SparseFieldQuery.select(entityManager, Company.class, fields, null);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(int id, List<String> fields) {
+        return SparseFieldQuery.select(entityManager, Company.class, fields, id).stream().findFirst();
+    }
+
+    @Override
+    public Optional<Company> patch(int id, Company patchedCompany) {
+        return new ReturningUpdate<>("company", COLUMNS, (row, rowNumber) -> {
+            Company company = new Company(row.getInt("id"), row.getString("company_name"),
+                    row.getObject("employee_number", Integer.class), null);
+            company.setVersion(row.getInt("version"));
+            return company;
+        })
+                .set("company_name", patchedCompany.getCompanyName())
+                .execute(entityManager, id, patchedCompany.getVersion());
+    }
+}
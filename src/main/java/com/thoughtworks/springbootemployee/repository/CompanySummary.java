@@ -0,0 +1,9 @@
+package com.thoughtworks.springbootemployee.repository;
+
+public interface CompanySummary {
+    Integer getId();
+
+    String getCompanyName();
+
+    Integer getEmployeeNumber();
+}
@@ -0,0 +1,9 @@
+package com.thoughtworks.springbootemployee.repository;
+
+public interface CompanyVersionRow {
+    Integer getCompanyVersion();
+
+    Integer getEmployeeId();
+
+    Integer getEmployeeVersion();
+}
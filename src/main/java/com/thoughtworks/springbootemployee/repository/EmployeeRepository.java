@@ -1,12 +1,52 @@
 package com.thoughtworks.springbootemployee.repository;
 
 import com.thoughtworks.springbootemployee.model.Employee;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
+public interface EmployeeRepository extends JpaRepository<Employee, Integer>, JpaSpecificationExecutor<Employee>, EmployeeRepositoryCustom {
     List<Employee> findAllByGender(String gender);
+
+    Page<Employee> findAllByGender(String gender, Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    Stream<Employee> streamAllByGender(String gender);
+
+    List<Employee> findAllByCompanyId(Integer companyId);
+
+    List<Employee> findAllByCompanyIdInOrderByIdAsc(Collection<Integer> companyIds);
+
+    List<Employee> findAllByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
+
+    @Query("select e from Employee e")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    Stream<Employee> streamAll();
+
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Integer> findVersionById(@Param("id") Integer id);
+
+    @Modifying
+    @Query("delete from Employee e where e.id = :id")
+    int bulkDeleteById(@Param("id") Integer id);
+
+    @Modifying
+    @Query("delete from Employee e where e.id in :ids")
+    int bulkDeleteByIdIn(@Param("ids") Collection<Integer> ids);
 }
@@ -0,0 +1,20 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface EmployeeRepositoryCustom {
+    List<Map<String, Object>> findAllFields(List<String> fields);
+
+    Optional<Map<String, Object>> findFieldsById(int id, List<String> fields);
+
+    Optional<Employee> patch(int id, Employee patchedEmployee);
+
+    Stream<Employee> streamAll(Specification<Employee> specification, Sort sort);
+}
@@ -0,0 +1,71 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+public class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+    private static final String[] COLUMNS = {"id", "name", "age", "gender", "salary", "company_id", "version"};
+
+    private final EntityManager entityManager;
+
+    public EmployeeRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllFields(List<String> fields) {
+        return SparseFieldQuery.select(entityManager, Employee.class, fields, null);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(int id, List<String> fields) {
+        return SparseFieldQuery.select(entityManager, Employee.class, fields, id).stream().findFirst();
+    }
+
+    @Override
+    public Optional<Employee> patch(int id, Employee patchedEmployee) {
+        return new ReturningUpdate<>("employee", COLUMNS, (row, rowNumber) -> {
+            Employee employee = new Employee(row.getInt("id"), row.getString("name"), row.getObject("age", Integer.class),
+                    row.getString("gender"), row.getObject("salary", Integer.class));
+            employee.setCompanyId(row.getObject("company_id", Integer.class));
+            employee.setVersion(row.getInt("version"));
+            return employee;
+        })
+                .set("name", patchedEmployee.getName())
+                .set("age", patchedEmployee.getAge())
+                .set("gender", patchedEmployee.getGender())
+                .set("salary", patchedEmployee.getSalary())
+                .execute(entityManager, id, patchedEmployee.getVersion());
+    }
+
+    @Override
+    public Stream<Employee> streamAll(Specification<Employee> specification, Sort sort) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Employee> query = builder.createQuery(Employee.class);
+        Root<Employee> root = query.from(Employee.class);
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, builder));
+        return entityManager.createQuery(query)
+                .setHint(HINT_FETCH_SIZE, 500)
+                .setHint(HINT_READONLY, true)
+                .getResultStream();
+    }
+}
@@ -0,0 +1,38 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class EmployeeSpecifications {
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> hasGender(String gender) {
+        return gender == null ? null : (root, query, builder) -> builder.equal(root.get("gender"), gender);
+    }
+
+    public static Specification<Employee> inCompany(Integer companyId) {
+        return companyId == null ? null : (root, query, builder) -> builder.equal(root.get("companyId"), companyId);
+    }
+
+    public static Specification<Employee> ageBetween(Integer minAge, Integer maxAge) {
+        return between("age", minAge, maxAge);
+    }
+
+    public static Specification<Employee> salaryBetween(Integer minSalary, Integer maxSalary) {
+        return between("salary", minSalary, maxSalary);
+    }
+
+    private static Specification<Employee> between(String attribute, Integer min, Integer max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        if (max == null) {
+            return (root, query, builder) -> builder.greaterThanOrEqualTo(root.get(attribute), min);
+        }
+        if (min == null) {
+            return (root, query, builder) -> builder.lessThanOrEqualTo(root.get(attribute), max);
+        }
+        return (root, query, builder) -> builder.between(root.get(attribute), min, max);
+    }
+}
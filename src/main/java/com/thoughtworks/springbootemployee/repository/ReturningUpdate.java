@@ -0,0 +1,68 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+class ReturningUpdate<T> {
+    private final String table;
+    private final String[] columns;
+    private final RowMapper<T> rowMapper;
+    private final List<String> assignments = new ArrayList<>();
+    private final List<Object> values = new ArrayList<>();
+
+    ReturningUpdate(String table, String[] columns, RowMapper<T> rowMapper) {
+        this.table = table;
+        this.columns = columns;
+        this.rowMapper = rowMapper;
+    }
+
+    ReturningUpdate<T> set(String column, Object value) {
+        if (value != null) {
+            assignments.add(column + " = ?");
+            values.add(value);
+        }
+        return this;
+    }
+
+    Optional<T> execute(EntityManager entityManager, int id, Integer version) {
+        StringBuilder sql = new StringBuilder("update ").append(table).append(" set ");
+        for (String assignment : assignments) {
+            sql.append(assignment).append(", ");
+        }
+        sql.append("version = version + 1 where id = ?");
+        values.add(id);
+        if (version != null) {
+            sql.append(" and version = ?");
+            values.add(version);
+        }
+
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+        PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement(sql.toString(), columns);
+        try {
+            for (int index = 0; index < values.size(); index++) {
+                statement.setObject(index + 1, values.get(index));
+            }
+            if (jdbcCoordinator.getResultSetReturn().executeUpdate(statement) == 0) {
+                return Optional.empty();
+            }
+            try (ResultSet row = statement.getGeneratedKeys()) {
+                return row.next() ? Optional.of(rowMapper.mapRow(row, 0)) : Optional.empty();
+            }
+        } catch (SQLException exception) {
+            throw session.getJdbcServices().getSqlExceptionHelper().convert(exception, "could not update " + table, sql.toString());
+        } finally {
+            jdbcCoordinator.getLogicalConnection().getResourceRegistry().release(statement);
+            jdbcCoordinator.afterStatementExecution();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+final class SparseFieldQuery {
+    private SparseFieldQuery() {
+    }
+
+    static List<Map<String, Object>> select(EntityManager entityManager, Class<?> entityType, List<String> fields, Integer id) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<?> root = query.from(entityType);
+        query.multiselect(fields.stream()
+                .map(field -> root.get(field).alias(field))
+                .toArray(Selection<?>[]::new));
+        if (id != null) {
+            query.where(criteriaBuilder.equal(root.get("id"), id));
+        }
+        query.orderBy(criteriaBuilder.asc(root.get("id")));
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(tuple -> toMap(tuple, fields))
+                .collect(Collectors.toList());
+    }
+
+    private static Map<String, Object> toMap(Tuple tuple, List<String> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : fields) {
+            row.put(field, tuple.get(field));
+        }
+        return row;
+    }
+}
@@ -1,19 +1,18 @@
 package com.thoughtworks.springbootemployee.requestModel;
 
-import com.thoughtworks.springbootemployee.model.Employee;
-
 import java.util.List;
 
 public class RequestCompany {
     private Integer id;
     private String companyName;
     private Integer employeeNumber;
-    private List<Employee> employees;
+    private Integer version;
+    private List<RequestEmployee> employees;
 
     public RequestCompany() {
     }
 
-    public RequestCompany(Integer id, String companyName, Integer employeeNumber, List<Employee> employees) {
+    public RequestCompany(Integer id, String companyName, Integer employeeNumber, List<RequestEmployee> employees) {
         this.id = id;
         this.companyName = companyName;
         this.employeeNumber = employeeNumber;
@@ -44,11 +43,19 @@ public class RequestCompany {
         this.employeeNumber = employeeNumber;
     }
 
-    public List<Employee> getEmployees() {
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public List<RequestEmployee> getEmployees() {
         return employees;
     }
 
-    public void setEmployees(List<Employee> employees) {
+    public void setEmployees(List<RequestEmployee> employees) {
         this.employees = employees;
     }
 }
@@ -7,6 +7,7 @@ public class RequestEmployee {
     private String gender;
     private Integer salary;
     private Integer companyId;
+    private Integer version;
 
     public RequestEmployee() {
     }
@@ -67,4 +68,12 @@ public class RequestEmployee {
     public void setCompanyId(Integer companyId) {
         this.companyId = companyId;
     }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,79 @@
+package com.thoughtworks.springbootemployee.responseModel;
+
+public class AnalyticsSummary {
+    private long count;
+    private long salaryTotal;
+    private Double averageSalary;
+    private Integer minSalary;
+    private Integer maxSalary;
+    private Double averageAge;
+    private Integer minAge;
+    private Integer maxAge;
+
+    public AnalyticsSummary() {
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getSalaryTotal() {
+        return salaryTotal;
+    }
+
+    public void setSalaryTotal(long salaryTotal) {
+        this.salaryTotal = salaryTotal;
+    }
+
+    public Double getAverageSalary() {
+        return averageSalary;
+    }
+
+    public void setAverageSalary(Double averageSalary) {
+        this.averageSalary = averageSalary;
+    }
+
+    public Integer getMinSalary() {
+        return minSalary;
+    }
+
+    public void setMinSalary(Integer minSalary) {
+        this.minSalary = minSalary;
+    }
+
+    public Integer getMaxSalary() {
+        return maxSalary;
+    }
+
+    public void setMaxSalary(Integer maxSalary) {
+        this.maxSalary = maxSalary;
+    }
+
+    public Double getAverageAge() {
+        return averageAge;
+    }
+
+    public void setAverageAge(Double averageAge) {
+        this.averageAge = averageAge;
+    }
+
+    public Integer getMinAge() {
+        return minAge;
+    }
+
+    public void setMinAge(Integer minAge) {
+        this.minAge = minAge;
+    }
+
+    public Integer getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Integer maxAge) {
+        this.maxAge = maxAge;
+    }
+}
@@ -0,0 +1,62 @@
+package com.thoughtworks.springbootemployee.responseModel;
+
+public class BatchItemResult {
+    public enum Status {
+        CREATED, FAILED
+    }
+
+    private int index;
+    private Integer id;
+    private Status status;
+    private String error;
+
+    public BatchItemResult() {
+    }
+
+    public BatchItemResult(int index, Integer id, Status status, String error) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+    }
+
+    public static BatchItemResult created(int index, Integer id) {
+        return new BatchItemResult(index, id, Status.CREATED, null);
+    }
+
+    public static BatchItemResult failed(int index, String error) {
+        return new BatchItemResult(index, null, Status.FAILED, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
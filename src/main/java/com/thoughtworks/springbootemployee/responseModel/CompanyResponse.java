@@ -0,0 +1,61 @@
+package com.thoughtworks.springbootemployee.responseModel;
+
+import java.util.List;
+
+public class CompanyResponse {
+    private Integer id;
+    private String companyName;
+    private Integer employeeNumber;
+    private Integer version;
+    private List<EmployeeResponse> employees;
+
+    public CompanyResponse() {
+    }
+
+    public CompanyResponse(Integer id, String companyName, Integer employeeNumber, List<EmployeeResponse> employees) {
+        this.id = id;
+        this.companyName = companyName;
+        this.employeeNumber = employeeNumber;
+        this.employees = employees;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public void setCompanyName(String companyName) {
+        this.companyName = companyName;
+    }
+
+    public Integer getEmployeeNumber() {
+        return employeeNumber;
+    }
+
+    public void setEmployeeNumber(Integer employeeNumber) {
+        this.employeeNumber = employeeNumber;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public List<EmployeeResponse> getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(List<EmployeeResponse> employees) {
+        this.employees = employees;
+    }
+}
@@ -0,0 +1,77 @@
+package com.thoughtworks.springbootemployee.responseModel;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class CompanyStats {
+    private Integer companyId;
+    private long headcount;
+    private long salaryTotal;
+    private Double averageSalary;
+    private Integer minSalary;
+    private Integer maxSalary;
+    private Map<String, Long> genders = new LinkedHashMap<>();
+
+    public CompanyStats() {
+    }
+
+    public CompanyStats(Integer companyId) {
+        this.companyId = companyId;
+    }
+
+    public Integer getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(Integer companyId) {
+        this.companyId = companyId;
+    }
+
+    public long getHeadcount() {
+        return headcount;
+    }
+
+    public void setHeadcount(long headcount) {
+        this.headcount = headcount;
+    }
+
+    public long getSalaryTotal() {
+        return salaryTotal;
+    }
+
+    public void setSalaryTotal(long salaryTotal) {
+        this.salaryTotal = salaryTotal;
+    }
+
+    public Double getAverageSalary() {
+        return averageSalary;
+    }
+
+    public void setAverageSalary(Double averageSalary) {
+        this.averageSalary = averageSalary;
+    }
+
+    public Integer getMinSalary() {
+        return minSalary;
+    }
+
+    public void setMinSalary(Integer minSalary) {
+        this.minSalary = minSalary;
+    }
+
+    public Integer getMaxSalary() {
+        return maxSalary;
+    }
+
+    public void setMaxSalary(Integer maxSalary) {
+        this.maxSalary = maxSalary;
+    }
+
+    public Map<String, Long> getGenders() {
+        return genders;
+    }
+
+    public void setGenders(Map<String, Long> genders) {
+        this.genders = genders;
+    }
+}
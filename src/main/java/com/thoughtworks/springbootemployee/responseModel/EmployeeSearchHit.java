@@ -0,0 +1,50 @@
+package com.thoughtworks.springbootemployee.responseModel;
+
+public class EmployeeSearchHit {
+    private int id;
+    private String name;
+    private Integer companyId;
+    private double score;
+
+    public EmployeeSearchHit() {
+    }
+
+    public EmployeeSearchHit(int id, String name, Integer companyId, double score) {
+        this.id = id;
+        this.name = name;
+        this.companyId = companyId;
+        this.score = score;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(Integer companyId) {
+        this.companyId = companyId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,37 @@
+package com.thoughtworks.springbootemployee.responseModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReport {
+    private long imported;
+    private long failed;
+    private List<BatchItemResult> errors = new ArrayList<>();
+
+    public ImportReport() {
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchItemResult> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<BatchItemResult> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,382 @@
+package com.thoughtworks.springbootemployee.search;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class NameIndex {
+    static final int MAX_PREFIX_TERMS = 10_000;
+    static final int MAX_FUZZY_TERMS = 2_000;
+    static final double MIN_SIMILARITY = 0.3;
+    static final double FUZZY_WEIGHT = 0.5;
+
+    private static final Comparator<ScoredTerm> RANKING = Comparator.comparingDouble((ScoredTerm scored) -> scored.score).reversed()
+            .thenComparing(scored -> scored.term.text);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Entry> entriesById = new HashMap<>();
+    private final TreeMap<String, Term> words = new TreeMap<>();
+    private final TreeMap<String, Term> phrases = new TreeMap<>();
+    private final Map<Long, IntSet> termsByTrigram = new HashMap<>();
+    private Term[] termsByOrdinal = new Term[16];
+    private int termCount;
+
+    public void upsert(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            String normalized = normalize(employee.getName());
+            if (normalized.isEmpty()) {
+                removeEntry(employee.getId());
+                return;
+            }
+            Entry entry = new Entry(employee.getName(), employee.getCompanyId(), termsOf(normalized));
+            Entry previous = entriesById.put(employee.getId(), entry);
+            for (String text : entry.terms) {
+                term(text).ids.add(employee.getId());
+            }
+            if (previous != null) {
+                for (String text : previous.terms) {
+                    if (!entry.terms.contains(text)) {
+                        release(text, employee.getId());
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeCompany(int companyId) {
+        lock.writeLock().lock();
+        try {
+            List<Integer> ids = new ArrayList<>();
+            entriesById.forEach((id, entry) -> {
+                if (entry.companyId != null && entry.companyId == companyId) {
+                    ids.add(id);
+                }
+            });
+            ids.forEach(this::removeEntry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entriesById.clear();
+            words.clear();
+            phrases.clear();
+            termsByTrigram.clear();
+            termsByOrdinal = new Term[16];
+            termCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int termCount() {
+        lock.readLock().lock();
+        try {
+            return termCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entriesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<NameMatch> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> scores = new LinkedHashMap<>();
+            Set<Term> prefixTerms = new HashSet<>();
+            List<ScoredTerm> candidates = matchPrefix(normalized, prefixTerms);
+            collect(candidates, limit, scores);
+            if (scores.size() < limit) {
+                collect(matchTrigrams(normalized, prefixTerms), limit, scores);
+            }
+            List<NameMatch> matches = new ArrayList<>(scores.size());
+            scores.forEach((id, score) -> {
+                Entry entry = entriesById.get(id);
+                matches.add(new NameMatch(id, entry.name, entry.companyId, score));
+            });
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<ScoredTerm> matchPrefix(String query, Set<Term> prefixTerms) {
+        List<ScoredTerm> candidates = new ArrayList<>();
+        for (Term term : terms(query).subMap(query, true, query + Character.MAX_VALUE, false).values()) {
+            if (term.ids.size == 0) {
+                continue;
+            }
+            if (prefixTerms.size() == MAX_PREFIX_TERMS) {
+                break;
+            }
+            prefixTerms.add(term);
+            double score = term.text.equals(query) ? 1.0 : 0.5 + 0.5 * query.length() / term.text.length();
+            candidates.add(new ScoredTerm(term, score));
+        }
+        return candidates;
+    }
+
+    private List<ScoredTerm> matchTrigrams(String query, Set<Term> prefixTerms) {
+        boolean phrase = isPhrase(query);
+        long[] queryTrigrams = trigrams(query);
+        List<IntSet> postings = new ArrayList<>(queryTrigrams.length);
+        for (long trigram : queryTrigrams) {
+            IntSet posting = termsByTrigram.get(trigram);
+            if (posting != null) {
+                postings.add(posting);
+            }
+        }
+        List<ScoredTerm> candidates = new ArrayList<>();
+        int minShared = Math.max(1, (int) Math.ceil(MIN_SIMILARITY * queryTrigrams.length / (2 - MIN_SIMILARITY)));
+        int candidateLists = postings.size() - minShared + 1;
+        if (candidateLists <= 0) {
+            return candidates;
+        }
+        postings.sort(Comparator.comparingInt(posting -> posting.size));
+        Set<Integer> checked = new HashSet<>();
+        for (IntSet posting : postings.subList(0, candidateLists)) {
+            for (int index = 0; index < posting.size; index++) {
+                Term term = termsByOrdinal[posting.values[index]];
+                if (term.phrase != phrase || term.ids.size == 0 || prefixTerms.contains(term) || !checked.add(term.ordinal)) {
+                    continue;
+                }
+                if (checked.size() > MAX_FUZZY_TERMS) {
+                    return candidates;
+                }
+                double similarity = similarity(queryTrigrams, trigrams(term.text));
+                if (similarity >= MIN_SIMILARITY) {
+                    candidates.add(new ScoredTerm(term, FUZZY_WEIGHT * similarity));
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private static void collect(List<ScoredTerm> candidates, int limit, Map<Integer, Double> scores) {
+        candidates.sort(RANKING);
+        for (ScoredTerm candidate : candidates) {
+            IntSet ids = candidate.term.ids;
+            for (int index = 0; index < ids.size; index++) {
+                if (scores.size() == limit) {
+                    return;
+                }
+                scores.putIfAbsent(ids.values[index], candidate.score);
+            }
+        }
+    }
+
+    private void removeEntry(Integer id) {
+        Entry entry = entriesById.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String text : entry.terms) {
+            release(text, id);
+        }
+    }
+
+    private void release(String text, int id) {
+        Term term = terms(text).get(text);
+        if (term == null) {
+            return;
+        }
+        term.ids.remove(id);
+        if (term.ids.size == 0) {
+            removeTerm(term);
+        }
+    }
+
+    private void removeTerm(Term term) {
+        terms(term.text).remove(term.text);
+        for (long trigram : trigrams(term.text)) {
+            IntSet posting = termsByTrigram.get(trigram);
+            posting.remove(term.ordinal);
+            if (posting.size == 0) {
+                termsByTrigram.remove(trigram);
+            }
+        }
+        Term last = termsByOrdinal[--termCount];
+        termsByOrdinal[termCount] = null;
+        if (last != term) {
+            for (long trigram : trigrams(last.text)) {
+                IntSet posting = termsByTrigram.get(trigram);
+                posting.remove(last.ordinal);
+                posting.add(term.ordinal);
+            }
+            last.ordinal = term.ordinal;
+            termsByOrdinal[last.ordinal] = last;
+        }
+    }
+
+    private Term term(String text) {
+        Term term = terms(text).get(text);
+        if (term != null) {
+            return term;
+        }
+        if (termCount == termsByOrdinal.length) {
+            termsByOrdinal = Arrays.copyOf(termsByOrdinal, termCount * 2);
+        }
+        term = new Term(termCount, text, isPhrase(text));
+        termsByOrdinal[termCount++] = term;
+        terms(text).put(text, term);
+        for (long trigram : trigrams(text)) {
+            termsByTrigram.computeIfAbsent(trigram, key -> new IntSet()).add(term.ordinal);
+        }
+        return term;
+    }
+
+    private TreeMap<String, Term> terms(String text) {
+        return isPhrase(text) ? phrases : words;
+    }
+
+    private static boolean isPhrase(String text) {
+        return text.indexOf(' ') >= 0;
+    }
+
+    static String normalize(String name) {
+        return name == null ? "" : name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> termsOf(String normalizedName) {
+        Set<String> terms = new LinkedHashSet<>();
+        terms.add(normalizedName);
+        terms.addAll(Arrays.asList(normalizedName.split(" ")));
+        return terms;
+    }
+
+    static long[] trigrams(String text) {
+        String padded = "  " + text + " ";
+        long[] trigrams = new long[padded.length() - 2];
+        for (int index = 0; index < trigrams.length; index++) {
+            trigrams[index] = (long) padded.charAt(index) << 32 | (long) padded.charAt(index + 1) << 16 | padded.charAt(index + 2);
+        }
+        Arrays.sort(trigrams);
+        int size = 0;
+        for (int index = 0; index < trigrams.length; index++) {
+            if (index == 0 || trigrams[index] != trigrams[index - 1]) {
+                trigrams[size++] = trigrams[index];
+            }
+        }
+        return Arrays.copyOf(trigrams, size);
+    }
+
+    static double similarity(long[] left, long[] right) {
+        int shared = 0;
+        int leftIndex = 0;
+        int rightIndex = 0;
+        while (leftIndex < left.length && rightIndex < right.length) {
+            if (left[leftIndex] == right[rightIndex]) {
+                shared++;
+                leftIndex++;
+                rightIndex++;
+            } else if (left[leftIndex] < right[rightIndex]) {
+                leftIndex++;
+            } else {
+                rightIndex++;
+            }
+        }
+        return 2.0 * shared / (left.length + right.length);
+    }
+
+    private static final class Entry {
+        private final String name;
+        private final Integer companyId;
+        private final Set<String> terms;
+
+        private Entry(String name, Integer companyId, Set<String> terms) {
+            this.name = name;
+            this.companyId = companyId;
+            this.terms = terms;
+        }
+    }
+
+    private static final class Term {
+        private int ordinal;
+        private final String text;
+        private final boolean phrase;
+        private final IntSet ids = new IntSet();
+
+        private Term(int ordinal, String text, boolean phrase) {
+            this.ordinal = ordinal;
+            this.text = text;
+            this.phrase = phrase;
+        }
+    }
+
+    private static final class ScoredTerm {
+        private final Term term;
+        private final double score;
+
+        private ScoredTerm(Term term, double score) {
+            this.term = term;
+            this.score = score;
+        }
+    }
+
+    private static final class IntSet {
+        private int[] values = new int[1];
+        private int size;
+
+        private void add(int value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = value;
+            size++;
+        }
+
+        private void remove(int value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, size - index - 1);
+                size--;
+            }
+        }
+    }
+}
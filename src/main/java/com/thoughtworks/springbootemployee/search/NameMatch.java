@@ -0,0 +1,31 @@
+package com.thoughtworks.springbootemployee.search;
+
+public class NameMatch {
+    private final int id;
+    private final String name;
+    private final Integer companyId;
+    private final double score;
+
+    public NameMatch(int id, String name, Integer companyId, double score) {
+        this.id = id;
+        this.name = name;
+        this.companyId = companyId;
+        this.score = score;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Integer getCompanyId() {
+        return companyId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,91 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.analytics.Column;
+import com.thoughtworks.springbootemployee.analytics.ColumnStats;
+import com.thoughtworks.springbootemployee.analytics.EmployeeColumns;
+import com.thoughtworks.springbootemployee.analytics.Histogram;
+import com.thoughtworks.springbootemployee.event.CompanyDeletedEvent;
+import com.thoughtworks.springbootemployee.event.EmployeeChangedEvent;
+import com.thoughtworks.springbootemployee.exception.InvalidAnalyticsQueryException;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.requestModel.AnalyticsFilter;
+import com.thoughtworks.springbootemployee.responseModel.AnalyticsSummary;
+import com.thoughtworks.springbootemployee.responseModel.HistogramBucket;
+import com.thoughtworks.springbootemployee.startup.ReloadableIndex;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+@Service
+public class AnalyticsService {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final EmployeeService employeeService;
+    private final ReloadableIndex<EmployeeColumns> employeeColumns =
+            new ReloadableIndex<>(() -> new EmployeeColumns(INITIAL_CAPACITY, ForkJoinPool.commonPool()));
+
+    public AnalyticsService(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    public void reload() {
+        employeeColumns.reload(fresh -> employeeService.forEach(fresh::upsert));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        employeeColumns.apply(columns -> {
+            for (Employee employee : event.getSavedEmployees()) {
+                columns.upsert(employee);
+            }
+            for (Integer id : event.getDeletedIds()) {
+                columns.remove(id);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompanyDeleted(CompanyDeletedEvent event) {
+        employeeColumns.apply(columns -> columns.removeCompany(event.getCompanyId()));
+    }
+
+    public AnalyticsSummary summarize(AnalyticsFilter filter) {
+        ColumnStats stats = employeeColumns.current().aggregate(filter);
+        AnalyticsSummary summary = new AnalyticsSummary();
+        summary.setCount(stats.getCount());
+        summary.setSalaryTotal(stats.getSalaryTotal());
+        if (stats.getSalaryCount() > 0) {
+            summary.setAverageSalary((double) stats.getSalaryTotal() / stats.getSalaryCount());
+            summary.setMinSalary(stats.getMinSalary());
+            summary.setMaxSalary(stats.getMaxSalary());
+        }
+        if (stats.getAgeCount() > 0) {
+            summary.setAverageAge((double) stats.getAgeTotal() / stats.getAgeCount());
+            summary.setMinAge(stats.getMinAge());
+            summary.setMaxAge(stats.getMaxAge());
+        }
+        return summary;
+    }
+
+    public List<HistogramBucket> histogram(Column column, int bucketWidth, AnalyticsFilter filter) throws InvalidAnalyticsQueryException {
+        if (bucketWidth <= 0) {
+            throw new InvalidAnalyticsQueryException();
+        }
+        Histogram histogram;
+        try {
+            histogram = employeeColumns.current().histogram(column, bucketWidth, filter);
+        } catch (IllegalArgumentException tooManyBuckets) {
+            throw new InvalidAnalyticsQueryException();
+        }
+        long[] counts = histogram.getCounts();
+        List<HistogramBucket> buckets = new ArrayList<>(counts.length);
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            int from = histogram.getOrigin() + bucket * bucketWidth;
+            buckets.add(new HistogramBucket(from, from + bucketWidth, counts[bucket]));
+        }
+        return buckets;
+    }
+}
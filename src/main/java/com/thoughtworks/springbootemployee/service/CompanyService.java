@@ -1,82 +1,340 @@
 package com.thoughtworks.springbootemployee.service;
 
+import com.thoughtworks.springbootemployee.config.CacheConfiguration;
+import com.thoughtworks.springbootemployee.event.CompanyChangedEvent;
+import com.thoughtworks.springbootemployee.event.CompanyDeletedEvent;
+import com.thoughtworks.springbootemployee.event.EmployeeChangedEvent;
+import com.thoughtworks.springbootemployee.exception.DuplicateEmployeeIdException;
+import com.thoughtworks.springbootemployee.exception.InvalidCursorException;
+import com.thoughtworks.springbootemployee.exception.InvalidLimitException;
+import com.thoughtworks.springbootemployee.exception.InvalidFieldsException;
 import com.thoughtworks.springbootemployee.exception.NoSuchDataException;
 import com.thoughtworks.springbootemployee.exception.NotTheSameIDException;
+import com.thoughtworks.springbootemployee.exception.PreconditionFailedException;
+import com.thoughtworks.springbootemployee.exception.VersionConflictException;
 import com.thoughtworks.springbootemployee.model.Company;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyGenderStats;
 import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.CompanySummary;
+import com.thoughtworks.springbootemployee.repository.CompanyVersionRow;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.responseModel.CompanyStats;
+import com.thoughtworks.springbootemployee.responseModel.CursorPage;
+import org.hibernate.Hibernate;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.beans.Transient;
+import javax.persistence.EntityManager;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class CompanyService {
+    private static final int STREAM_CHUNK_SIZE = 500;
+    private static final Set<String> FIELDS = new HashSet<>(Arrays.asList("id", "companyName", "employeeNumber", "version"));
+
     private final CompanyRepository companyRepository;
     private final EmployeeRepository employeeRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CompanyService(CompanyRepository companyRepository, EmployeeRepository employeeRepository) {
+    public CompanyService(CompanyRepository companyRepository, EmployeeRepository employeeRepository, EntityManager entityManager,
+                          ApplicationEventPublisher eventPublisher) {
         this.companyRepository = companyRepository;
         this.employeeRepository = employeeRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     public List<Company> findAll() {
         return companyRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public List<CompanySummary> findAllSummaries() {
+        return companyRepository.findSummariesByOrderByIdAsc();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllFields(String fields) throws InvalidFieldsException {
+        return companyRepository.findAllFields(SparseFields.parse(fields, FIELDS));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> findFieldsById(int id, String fields) throws InvalidFieldsException {
+        return companyRepository.findFieldsById(id, SparseFields.parse(fields, FIELDS)).orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<Company> consumer) {
+        try (Stream<Company> companies = companyRepository.streamAll()) {
+            List<Company> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+            companies.forEach(company -> {
+                chunk.add(company);
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    consumeChunk(chunk, consumer);
+                }
+            });
+            consumeChunk(chunk, consumer);
+        }
+    }
+
+    private void consumeChunk(List<Company> chunk, Consumer<Company> consumer) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Integer> companyIds = chunk.stream().map(Company::getId).collect(Collectors.toList());
+        Map<Integer, List<Employee>> employeesByCompany = employeeRepository.findAllByCompanyIdInOrderByIdAsc(companyIds).stream()
+                .collect(Collectors.groupingBy(Employee::getCompanyId));
+        entityManager.clear();
+        for (Company company : chunk) {
+            company.setEmployees(employeesByCompany.getOrDefault(company.getId(), new ArrayList<>()));
+            consumer.accept(company);
+        }
+        chunk.clear();
+    }
+
+    @Transactional(readOnly = true)
     public Page<Company> findAll(int page, int pageSize) {
         return companyRepository.findAll(PageRequest.of(page - 1, pageSize));
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<Company> findAllAfter(String cursor, int limit) throws InvalidCursorException, InvalidLimitException {
+        List<Company> companies = companyRepository.findAllByIdGreaterThanOrderByIdAsc(KeysetCursor.decode(cursor), KeysetCursor.firstRows(limit));
+        return KeysetCursor.toPage(companies, limit, Company::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public String findVersionTagById(int id) {
+        List<CompanyVersionRow> rows = companyRepository.findVersionRowsById(id);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Map<Integer, Integer> employeeVersions = new TreeMap<>();
+        rows.stream()
+                .filter(row -> row.getEmployeeId() != null)
+                .forEach(row -> employeeVersions.put(row.getEmployeeId(), row.getEmployeeVersion()));
+        return VersionTags.company(rows.get(0).getCompanyVersion(), employeeVersions);
+    }
+
+    // Not read-only: a cache fill from a lagging replica would outlive the eviction that follows a write.
+    @Transactional
+    @Cacheable(cacheNames = CacheConfiguration.COMPANIES, unless = "#result == null")
     public Company findById(int id) {
-        return companyRepository.findById(id).orElse(null);
+        Company company = companyRepository.findById(id).orElse(null);
+        if (company != null) {
+            Hibernate.initialize(company.getEmployees());
+        }
+        return company;
     }
 
-    @Transient
-    public Company save(Company newCompany) {
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.EMPLOYEES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfiguration.COMPANIES, allEntries = true)
+    })
+    public Company save(Company newCompany) throws DuplicateEmployeeIdException {
+        List<Employee> incomingEmployees = newCompany.getEmployees() == null ? new ArrayList<>() : newCompany.getEmployees();
+        requireUniqueEmployeeIds(incomingEmployees);
+        newCompany.setId(null);
+        newCompany.setVersion(null);
+        newCompany.setEmployeeNumber(incomingEmployees.size());
+        newCompany.setEmployees(new ArrayList<>());
         Company returnCompany = companyRepository.save(newCompany);
-        for (Employee employee : returnCompany.getEmployees()) {
-            employee.setCompanyId(returnCompany.getId());
-            employeeRepository.save(employee);
-        }
+        eventPublisher.publishEvent(new CompanyChangedEvent(returnCompany));
+        returnCompany.setEmployees(syncEmployees(returnCompany.getId(), new HashMap<>(), incomingEmployees));
         return returnCompany;
     }
 
-    public Company updateCompany(int id, Company updatedCompany) throws NotTheSameIDException, NoSuchDataException {
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.EMPLOYEES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfiguration.COMPANIES, allEntries = true)
+    })
+    public Company updateCompany(int id, Company updatedCompany, Collection<String> acceptedVersionTags)
+            throws NotTheSameIDException, NoSuchDataException, PreconditionFailedException, DuplicateEmployeeIdException {
         if (!updatedCompany.getId().equals(id)) {
             throw new NotTheSameIDException();
         }
+        if (updatedCompany.getEmployees() != null) {
+            requireUniqueEmployeeIds(updatedCompany.getEmployees());
+        }
         Company targetCompany = findById(id);
         if (targetCompany != null) {
+            if (acceptedVersionTags != null && !acceptedVersionTags.contains(VersionTags.of(targetCompany))) {
+                throw new PreconditionFailedException();
+            }
             if (updatedCompany.getCompanyName() != null)
                 targetCompany.setCompanyName(updatedCompany.getCompanyName());
-            if (updatedCompany.getEmployeeNumber() != null)
-                targetCompany.setEmployeeNumber(updatedCompany.getEmployeeNumber());
-            if (updatedCompany.getEmployees() != null)
-                targetCompany.setEmployees(updatedCompany.getEmployees());
-            return save(targetCompany);
+            if (updatedCompany.getEmployees() != null) {
+                Map<Integer, Employee> currentEmployees = employeeRepository.findAllByCompanyId(id).stream()
+                        .collect(Collectors.toMap(Employee::getId, employee -> employee));
+                targetCompany.setEmployees(syncEmployees(id, currentEmployees, updatedCompany.getEmployees()));
+                targetCompany.setEmployeeNumber(targetCompany.getEmployees().size());
+            }
+            Company company = companyRepository.save(targetCompany);
+            eventPublisher.publishEvent(new CompanyChangedEvent(company));
+            return company;
         } else {
             throw new NoSuchDataException();
         }
     }
 
-    public List<Employee> findEmployeesById(int id) {
-        if (companyRepository.findById(id).isPresent()) {
-            return companyRepository.findById(id).get().getEmployees();
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfiguration.COMPANIES, key = "#id")
+    public Company patchCompany(int id, Company patchedCompany) throws NotTheSameIDException, NoSuchDataException, VersionConflictException {
+        if (patchedCompany.getId() != null && !patchedCompany.getId().equals(id)) {
+            throw new NotTheSameIDException();
         }
-        return new ArrayList<>();
+        Optional<Company> company = companyRepository.patch(id, patchedCompany);
+        if (company.isPresent()) {
+            eventPublisher.publishEvent(new CompanyChangedEvent(company.get()));
+            return company.get();
+        }
+        if (companyRepository.existsById(id)) {
+            throw new VersionConflictException();
+        }
+        throw new NoSuchDataException();
+    }
+
+    private static void requireUniqueEmployeeIds(List<Employee> employees) throws DuplicateEmployeeIdException {
+        Set<Integer> ids = new HashSet<>();
+        for (Employee employee : employees) {
+            if (employee.getId() != null && !ids.add(employee.getId())) {
+                throw new DuplicateEmployeeIdException();
+            }
+        }
+    }
+
+    private List<Employee> syncEmployees(int companyId, Map<Integer, Employee> currentEmployees, List<Employee> incomingEmployees) {
+        List<Integer> transferredIds = incomingEmployees.stream()
+                .map(Employee::getId)
+                .filter(employeeId -> employeeId != null && !currentEmployees.containsKey(employeeId))
+                .collect(Collectors.toList());
+        Map<Integer, Employee> transferredEmployees = transferredIds.isEmpty() ? new HashMap<>() : employeeRepository.findAllById(transferredIds).stream()
+                .collect(Collectors.toMap(Employee::getId, employee -> employee));
+
+        List<Employee> employees = new ArrayList<>(incomingEmployees.size());
+        List<Employee> insertedEmployees = new ArrayList<>();
+        Map<Integer, Integer> transfersBySourceCompany = new HashMap<>();
+        for (Employee incomingEmployee : incomingEmployees) {
+            Employee existingEmployee = incomingEmployee.getId() == null ? null : currentEmployees.remove(incomingEmployee.getId());
+            if (existingEmployee == null && incomingEmployee.getId() != null) {
+                existingEmployee = transferredEmployees.get(incomingEmployee.getId());
+                if (existingEmployee != null && existingEmployee.getCompanyId() != null && existingEmployee.getCompanyId() != companyId) {
+                    transfersBySourceCompany.merge(existingEmployee.getCompanyId(), 1, Integer::sum);
+                }
+            }
+            if (existingEmployee == null) {
+                incomingEmployee.setId(null);
+                incomingEmployee.setVersion(null);
+                incomingEmployee.setCompanyId(companyId);
+                insertedEmployees.add(incomingEmployee);
+                employees.add(incomingEmployee);
+            } else {
+                mergeEmployee(existingEmployee, incomingEmployee);
+                existingEmployee.setCompanyId(companyId);
+                employees.add(existingEmployee);
+            }
+        }
+        for (Employee detachedEmployee : currentEmployees.values()) {
+            detachedEmployee.setCompanyId(null);
+        }
+        employeeRepository.saveAll(insertedEmployees);
+        transfersBySourceCompany.forEach((sourceCompanyId, count) -> companyRepository.adjustEmployeeNumber(sourceCompanyId, -count));
+        List<Employee> changedEmployees = new ArrayList<>(employees);
+        changedEmployees.addAll(currentEmployees.values());
+        eventPublisher.publishEvent(EmployeeChangedEvent.saved(changedEmployees));
+        return employees;
+    }
+
+    private void mergeEmployee(Employee targetEmployee, Employee updatedEmployee) {
+        if (updatedEmployee.getName() != null)
+            targetEmployee.setName(updatedEmployee.getName());
+        if (updatedEmployee.getGender() != null)
+            targetEmployee.setGender(updatedEmployee.getGender());
+        if (updatedEmployee.getAge() != null)
+            targetEmployee.setAge(updatedEmployee.getAge());
+        if (updatedEmployee.getSalary() != null)
+            targetEmployee.setSalary(updatedEmployee.getSalary());
+    }
+
+    @Transactional(readOnly = true)
+    public CompanyStats findStatsById(int id) throws NoSuchDataException {
+        List<CompanyStats> companyStats = toCompanyStats(companyRepository.findGenderStatsById(id));
+        if (companyStats.isEmpty()) {
+            throw new NoSuchDataException();
+        }
+        return companyStats.get(0);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CompanyStats> findAllStats() {
+        return toCompanyStats(companyRepository.findAllGenderStats());
+    }
+
+    private List<CompanyStats> toCompanyStats(List<CompanyGenderStats> rows) {
+        Map<Integer, CompanyStats> companyStats = new LinkedHashMap<>();
+        Map<Integer, Long> salaryCounts = new HashMap<>();
+        for (CompanyGenderStats row : rows) {
+            CompanyStats stats = companyStats.computeIfAbsent(row.getCompanyId(), CompanyStats::new);
+            if (row.getHeadcount() == 0) {
+                continue;
+            }
+            stats.setHeadcount(stats.getHeadcount() + row.getHeadcount());
+            stats.getGenders().put(row.getGender() == null ? "unknown" : row.getGender(), row.getHeadcount());
+            if (row.getSalaryCount() > 0) {
+                salaryCounts.merge(row.getCompanyId(), row.getSalaryCount(), Long::sum);
+                stats.setSalaryTotal(stats.getSalaryTotal() + row.getSalaryTotal());
+                if (stats.getMinSalary() == null || row.getMinSalary() < stats.getMinSalary())
+                    stats.setMinSalary(row.getMinSalary());
+                if (stats.getMaxSalary() == null || row.getMaxSalary() > stats.getMaxSalary())
+                    stats.setMaxSalary(row.getMaxSalary());
+            }
+        }
+        salaryCounts.forEach((companyId, salaryCount) -> {
+            CompanyStats stats = companyStats.get(companyId);
+            stats.setAverageSalary((double) stats.getSalaryTotal() / salaryCount);
+        });
+        return new ArrayList<>(companyStats.values());
+    }
+
+    @Transactional(readOnly = true)
+    public List<Employee> findEmployeesById(int id) {
+        return employeeRepository.findAllByCompanyId(id);
     }
 
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.EMPLOYEES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfiguration.COMPANIES, key = "#id")
+    })
     public boolean deleteById(int id) throws NoSuchDataException {
-        if (!companyRepository.findById(id).isPresent()) {
+        if (companyRepository.bulkDeleteById(id) == 0) {
             throw new NoSuchDataException();
         }
-        // NoSuchDataException
-        companyRepository.deleteById(id);
+        eventPublisher.publishEvent(new CompanyDeletedEvent(id));
         return true;
     }
 }
@@ -0,0 +1,162 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.config.CacheConfiguration;
+import com.thoughtworks.springbootemployee.csv.CsvReader;
+import com.thoughtworks.springbootemployee.csv.CsvRecord;
+import com.thoughtworks.springbootemployee.csv.EmployeeCsv;
+import com.thoughtworks.springbootemployee.event.EmployeeChangedEvent;
+import com.thoughtworks.springbootemployee.exception.InvalidCsvException;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.responseModel.BatchItemResult;
+import com.thoughtworks.springbootemployee.responseModel.ImportReport;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class EmployeeBatchService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeBatchService.class);
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private final EntityManager entityManager;
+    private final CompanyRepository companyRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public EmployeeBatchService(EntityManager entityManager, CompanyRepository companyRepository, ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.companyRepository = companyRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @CacheEvict(cacheNames = CacheConfiguration.COMPANIES, allEntries = true)
+    public List<BatchItemResult> saveAll(List<Employee> employees) {
+        List<BatchItemResult> results = new ArrayList<>(employees.size());
+        for (int from = 0; from < employees.size(); from += CHUNK_SIZE) {
+            int to = Math.min(from + CHUNK_SIZE, employees.size());
+            int[] indexes = new int[to - from];
+            for (int index = 0; index < indexes.length; index++) {
+                indexes[index] = from + index;
+            }
+            results.addAll(saveChunk(indexes, employees.subList(from, to)));
+        }
+        return results;
+    }
+
+    @CacheEvict(cacheNames = CacheConfiguration.COMPANIES, allEntries = true)
+    public ImportReport importCsv(Reader reader) throws IOException, InvalidCsvException {
+        try (CsvReader csvReader = new CsvReader(reader)) {
+            Map<String, Integer> columns = EmployeeCsv.columns(csvReader.next());
+            ImportReport report = new ImportReport();
+            List<Employee> chunk = new ArrayList<>(CHUNK_SIZE);
+            int[] lines = new int[CHUNK_SIZE];
+            for (CsvRecord record = csvReader.next(); record != null; record = csvReader.next()) {
+                try {
+                    chunk.add(EmployeeCsv.parse(columns, record));
+                    lines[chunk.size() - 1] = record.getLine();
+                } catch (IllegalArgumentException e) {
+                    addToReport(report, BatchItemResult.failed(record.getLine(), e.getMessage()));
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    saveChunk(lines, chunk).forEach(result -> addToReport(report, result));
+                    chunk.clear();
+                }
+            }
+            saveChunk(Arrays.copyOf(lines, chunk.size()), chunk).forEach(result -> addToReport(report, result));
+            return report;
+        }
+    }
+
+    private static void addToReport(ImportReport report, BatchItemResult result) {
+        if (result.getStatus() == BatchItemResult.Status.CREATED) {
+            report.setImported(report.getImported() + 1);
+            return;
+        }
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(result);
+        }
+    }
+
+    private List<BatchItemResult> saveChunk(int[] indexes, List<Employee> chunk) {
+        List<BatchItemResult> results = new ArrayList<>(chunk.size());
+        if (chunk.isEmpty()) {
+            return results;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(chunk));
+            for (int index = 0; index < chunk.size(); index++) {
+                results.add(BatchItemResult.created(indexes[index], chunk.get(index).getId()));
+            }
+        } catch (RuntimeException chunkFailure) {
+            for (int index = 0; index < chunk.size(); index++) {
+                Employee employee = chunk.get(index);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(Collections.singletonList(employee)));
+                    results.add(BatchItemResult.created(indexes[index], employee.getId()));
+                } catch (RuntimeException itemFailure) {
+                    LOGGER.warn("Saving employee at index {} failed", indexes[index], itemFailure);
+                    results.add(BatchItemResult.failed(indexes[index], failureOf(employee, itemFailure)));
+                }
+            }
+        }
+        return results;
+    }
+
+    private String failureOf(Employee employee, RuntimeException failure) {
+        if (!isConstraintViolation(failure)) {
+            return "employee could not be saved";
+        }
+        if (employee.getCompanyId() != null && !companyRepository.existsById(employee.getCompanyId())) {
+            return "companyId does not exist";
+        }
+        return "employee violates a data constraint";
+    }
+
+    private static boolean isConstraintViolation(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException || cause instanceof ConstraintViolationException
+                    || cause instanceof SQLIntegrityConstraintViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void persist(List<Employee> employees) {
+        Map<Integer, Integer> insertsByCompany = new HashMap<>();
+        for (Employee employee : employees) {
+            employee.setId(null);
+            employee.setVersion(null);
+            entityManager.persist(employee);
+            if (employee.getCompanyId() != null) {
+                insertsByCompany.merge(employee.getCompanyId(), 1, Integer::sum);
+            }
+        }
+        entityManager.flush();
+        insertsByCompany.forEach(companyRepository::adjustEmployeeNumber);
+        entityManager.clear();
+        eventPublisher.publishEvent(EmployeeChangedEvent.saved(employees));
+    }
+}
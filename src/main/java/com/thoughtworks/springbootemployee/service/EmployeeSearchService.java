@@ -0,0 +1,60 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.event.CompanyDeletedEvent;
+import com.thoughtworks.springbootemployee.event.EmployeeChangedEvent;
+import com.thoughtworks.springbootemployee.exception.InvalidSearchQueryException;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.responseModel.EmployeeSearchHit;
+import com.thoughtworks.springbootemployee.search.NameIndex;
+import com.thoughtworks.springbootemployee.search.NameMatch;
+import com.thoughtworks.springbootemployee.startup.ReloadableIndex;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class EmployeeSearchService {
+    static final int MAX_LIMIT = 100;
+
+    private final EmployeeService employeeService;
+    private final ReloadableIndex<NameIndex> nameIndex = new ReloadableIndex<>(NameIndex::new);
+
+    public EmployeeSearchService(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    public void reload() {
+        nameIndex.reload(fresh -> employeeService.forEach(fresh::upsert));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        nameIndex.apply(index -> {
+            for (Employee employee : event.getSavedEmployees()) {
+                index.upsert(employee);
+            }
+            for (Integer id : event.getDeletedIds()) {
+                index.remove(id);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompanyDeleted(CompanyDeletedEvent event) {
+        nameIndex.apply(index -> index.removeCompany(event.getCompanyId()));
+    }
+
+    public List<EmployeeSearchHit> search(String query, int limit) throws InvalidSearchQueryException {
+        if (query == null || query.trim().isEmpty() || limit <= 0 || limit > MAX_LIMIT) {
+            throw new InvalidSearchQueryException();
+        }
+        List<NameMatch> matches = nameIndex.current().search(query, limit);
+        List<EmployeeSearchHit> hits = new ArrayList<>(matches.size());
+        for (NameMatch match : matches) {
+            hits.add(new EmployeeSearchHit(match.getId(), match.getName(), match.getCompanyId(), match.getScore()));
+        }
+        return hits;
+    }
+}
@@ -1,49 +1,207 @@
 package com.thoughtworks.springbootemployee.service;
 
+import com.thoughtworks.springbootemployee.config.CacheConfiguration;
+import com.thoughtworks.springbootemployee.event.EmployeeChangedEvent;
+import com.thoughtworks.springbootemployee.exception.InvalidCursorException;
+import com.thoughtworks.springbootemployee.exception.InvalidLimitException;
+import com.thoughtworks.springbootemployee.exception.InvalidFieldsException;
+import com.thoughtworks.springbootemployee.exception.InvalidFilterException;
 import com.thoughtworks.springbootemployee.exception.NoSuchDataException;
 import com.thoughtworks.springbootemployee.exception.NotTheSameIDException;
+import com.thoughtworks.springbootemployee.exception.PreconditionFailedException;
+import com.thoughtworks.springbootemployee.exception.VersionConflictException;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeSpecifications;
+import com.thoughtworks.springbootemployee.requestModel.EmployeeFilter;
+import com.thoughtworks.springbootemployee.responseModel.CursorPage;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class EmployeeService {
+    private static final Set<String> FIELDS = new HashSet<>(Arrays.asList("id", "name", "age", "gender", "salary", "companyId", "version"));
+    private static final Set<String> SORTABLE_FIELDS = new HashSet<>(Arrays.asList("id", "name", "age", "gender", "salary", "companyId"));
+
     private final EmployeeRepository employeeRepository;
+    private final CompanyRepository companyRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public EmployeeService(EmployeeRepository employeeRepository) {
+    public EmployeeService(EmployeeRepository employeeRepository, CompanyRepository companyRepository, EntityManager entityManager,
+                           ApplicationEventPublisher eventPublisher) {
         this.employeeRepository = employeeRepository;
+        this.companyRepository = companyRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     public List<Employee> findAll() {
         return employeeRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllFields(String fields) throws InvalidFieldsException {
+        return employeeRepository.findAllFields(SparseFields.parse(fields, FIELDS));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> findFieldsById(int id, String fields) throws InvalidFieldsException {
+        return employeeRepository.findFieldsById(id, SparseFields.parse(fields, FIELDS)).orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<Employee> consumer) {
+        consume(employeeRepository.streamAll(), consumer);
+    }
+
+    @Transactional(readOnly = true)
+    public void forEachByGender(String gender, Consumer<Employee> consumer) {
+        consume(employeeRepository.streamAllByGender(gender), consumer);
+    }
+
+    private void consume(Stream<Employee> employees, Consumer<Employee> consumer) {
+        try (Stream<Employee> rows = employees) {
+            rows.forEach(employee -> {
+                consumer.accept(employee);
+                entityManager.detach(employee);
+            });
+        }
+    }
+
+    @Transactional(readOnly = true)
     public Page<Employee> findAll(int page, int pageSize) {
         return employeeRepository.findAll(PageRequest.of(page - 1, pageSize));
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<Employee> findAllAfter(String cursor, int limit) throws InvalidCursorException, InvalidLimitException {
+        List<Employee> employees = employeeRepository.findAllByIdGreaterThanOrderByIdAsc(KeysetCursor.decode(cursor), KeysetCursor.firstRows(limit));
+        return KeysetCursor.toPage(employees, limit, Employee::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public String findVersionTagById(int id) {
+        return employeeRepository.findVersionById(id).map(String::valueOf).orElse(null);
+    }
+
+    // Not read-only: a cache fill from a lagging replica would outlive the eviction that follows a write.
+    @Transactional
+    @Cacheable(cacheNames = CacheConfiguration.EMPLOYEES, unless = "#result == null")
     public Employee findById(int id) {
         return employeeRepository.findById(id).orElse(null);
     }
 
+    @Transactional(readOnly = true)
     public List<Employee> findAllByGender(String gender) {
         return employeeRepository.findAllByGender(gender);
     }
 
+    @Transactional(readOnly = true)
+    public Page<Employee> findAllByGender(String gender, int page, int pageSize) {
+        return employeeRepository.findAllByGender(gender, PageRequest.of(page - 1, pageSize));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Employee> findAll(EmployeeFilter filter, int page, int pageSize) throws InvalidFilterException {
+        validate(filter);
+        return employeeRepository.findAll(specificationOf(filter), PageRequest.of(page - 1, pageSize, sortOf(filter)));
+    }
+
+    @Transactional(readOnly = true)
+    public void forEach(EmployeeFilter filter, Consumer<Employee> consumer) {
+        consume(employeeRepository.streamAll(specificationOf(filter), sortOf(filter)), consumer);
+    }
+
+    public void validate(EmployeeFilter filter) throws InvalidFilterException {
+        if (isReversed(filter.getMinAge(), filter.getMaxAge()) || isReversed(filter.getMinSalary(), filter.getMaxSalary())) {
+            throw new InvalidFilterException();
+        }
+        if (filter.getSort() != null) {
+            for (String order : filter.getSort()) {
+                if (!SORTABLE_FIELDS.contains(order.trim().replaceFirst("^-", ""))) {
+                    throw new InvalidFilterException();
+                }
+            }
+        }
+    }
+
+    private static boolean isReversed(Integer min, Integer max) {
+        return min != null && max != null && min > max;
+    }
+
+    private static Specification<Employee> specificationOf(EmployeeFilter filter) {
+        return Specification.where(EmployeeSpecifications.hasGender(filter.getGender()))
+                .and(EmployeeSpecifications.inCompany(filter.getCompanyId()))
+                .and(EmployeeSpecifications.ageBetween(filter.getMinAge(), filter.getMaxAge()))
+                .and(EmployeeSpecifications.salaryBetween(filter.getMinSalary(), filter.getMaxSalary()));
+    }
+
+    private static Sort sortOf(EmployeeFilter filter) {
+        List<Sort.Order> orders = new ArrayList<>();
+        if (filter.getSort() != null) {
+            for (String order : filter.getSort()) {
+                String property = order.trim();
+                orders.add(property.startsWith("-") ? Sort.Order.desc(property.substring(1)) : Sort.Order.asc(property));
+            }
+        }
+        if (orders.stream().noneMatch(order -> "id".equals(order.getProperty()))) {
+            orders.add(Sort.Order.asc("id"));
+        }
+        return Sort.by(orders);
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfiguration.COMPANIES, key = "#result.companyId", condition = "#result.companyId != null")
     public Employee save(Employee newEmployee) {
-        return employeeRepository.save(newEmployee);
+        newEmployee.setId(null);
+        newEmployee.setVersion(null);
+        Employee employee = employeeRepository.save(newEmployee);
+        if (employee.getCompanyId() != null) {
+            companyRepository.adjustEmployeeNumber(employee.getCompanyId(), 1);
+        }
+        eventPublisher.publishEvent(EmployeeChangedEvent.saved(employee));
+        return employee;
     }
 
-    public Employee updateEmployee(int id, Employee updatedEmployee) throws NoSuchDataException, NotTheSameIDException {
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.EMPLOYEES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfiguration.COMPANIES, key = "#result.companyId", condition = "#result.companyId != null")
+    })
+    public Employee updateEmployee(int id, Employee updatedEmployee, Collection<String> acceptedVersionTags)
+            throws NoSuchDataException, NotTheSameIDException, PreconditionFailedException {
         if (!updatedEmployee.getId().equals(id)) {
             throw new NotTheSameIDException();
         }
         Employee targetEmployee = findById(id);
         if (targetEmployee != null) {
+            if (acceptedVersionTags != null && !acceptedVersionTags.contains(VersionTags.of(targetEmployee))) {
+                throw new PreconditionFailedException();
+            }
             if (updatedEmployee.getName() != null)
                 targetEmployee.setName(updatedEmployee.getName());
             if (updatedEmployee.getGender() != null)
@@ -52,17 +210,63 @@ public class EmployeeService {
                 targetEmployee.setAge(updatedEmployee.getAge());
             if (updatedEmployee.getSalary() != null)
                 targetEmployee.setSalary(updatedEmployee.getSalary());
-            return save(targetEmployee);
+            Employee employee = employeeRepository.save(targetEmployee);
+            eventPublisher.publishEvent(EmployeeChangedEvent.saved(employee));
+            return employee;
         } else {
             throw new NoSuchDataException();
         }
     }
 
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.EMPLOYEES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfiguration.COMPANIES, key = "#result.companyId", condition = "#result.companyId != null")
+    })
+    public Employee patchEmployee(int id, Employee patchedEmployee) throws NotTheSameIDException, NoSuchDataException, VersionConflictException {
+        if (patchedEmployee.getId() != null && !patchedEmployee.getId().equals(id)) {
+            throw new NotTheSameIDException();
+        }
+        Optional<Employee> employee = employeeRepository.patch(id, patchedEmployee);
+        if (employee.isPresent()) {
+            eventPublisher.publishEvent(EmployeeChangedEvent.saved(employee.get()));
+            return employee.get();
+        }
+        if (employeeRepository.existsById(id)) {
+            throw new VersionConflictException();
+        }
+        throw new NoSuchDataException();
+    }
+
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.EMPLOYEES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfiguration.COMPANIES, allEntries = true)
+    })
     public boolean deleteById(int id) throws NoSuchDataException {
-        if (!employeeRepository.findById(id).isPresent()) {
+        companyRepository.decrementEmployeeNumberByEmployeeIdIn(Collections.singletonList(id));
+        if (employeeRepository.bulkDeleteById(id) == 0) {
             throw new NoSuchDataException();
         }
-        employeeRepository.deleteById(id);
+        eventPublisher.publishEvent(EmployeeChangedEvent.deleted(Collections.singletonList(id)));
         return true;
     }
+
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.EMPLOYEES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfiguration.COMPANIES, allEntries = true)
+    })
+    public int deleteAllById(List<Integer> ids) throws NoSuchDataException {
+        if (ids.isEmpty()) {
+            throw new NoSuchDataException();
+        }
+        companyRepository.decrementEmployeeNumberByEmployeeIdIn(ids);
+        int deletedCount = employeeRepository.bulkDeleteByIdIn(ids);
+        if (deletedCount == 0) {
+            throw new NoSuchDataException();
+        }
+        eventPublisher.publishEvent(EmployeeChangedEvent.deleted(ids));
+        return deletedCount;
+    }
 }
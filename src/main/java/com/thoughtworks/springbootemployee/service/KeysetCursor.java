@@ -0,0 +1,54 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.exception.InvalidCursorException;
+import com.thoughtworks.springbootemployee.exception.InvalidLimitException;
+import com.thoughtworks.springbootemployee.responseModel.CursorPage;
+import org.springframework.data.domain.PageRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+class KeysetCursor {
+    static final int MAX_LIMIT = 1000;
+
+    private static final String PREFIX = "id:";
+
+    private KeysetCursor() {
+    }
+
+    static int decode(String cursor) throws InvalidCursorException {
+        if (cursor == null) {
+            return Integer.MIN_VALUE;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new InvalidCursorException();
+            }
+            return Integer.parseInt(decoded.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    static String encode(int id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static PageRequest firstRows(int limit) throws InvalidLimitException {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidLimitException();
+        }
+        return PageRequest.of(0, limit + 1);
+    }
+
+    static <T> CursorPage<T> toPage(List<T> rows, int limit, Function<T, Integer> idOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, limit);
+        return new CursorPage<>(content, encode(idOf.apply(content.get(limit - 1))));
+    }
+}
@@ -0,0 +1,25 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.exception.InvalidFieldsException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+class SparseFields {
+    private SparseFields() {
+    }
+
+    static List<String> parse(String fields, Set<String> allowed) throws InvalidFieldsException {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (!allowed.contains(trimmed)) {
+                throw new InvalidFieldsException();
+            }
+            selected.add(trimmed);
+        }
+        return new ArrayList<>(selected);
+    }
+}
@@ -0,0 +1,33 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+public final class VersionTags {
+    private VersionTags() {
+    }
+
+    public static String of(Employee employee) {
+        return String.valueOf(employee.getVersion());
+    }
+
+    public static String of(Company company) {
+        Map<Integer, Integer> employeeVersions = new TreeMap<>();
+        if (company.getEmployees() != null) {
+            company.getEmployees().forEach(employee -> employeeVersions.put(employee.getId(), employee.getVersion()));
+        }
+        return company(company.getVersion(), employeeVersions);
+    }
+
+    static String company(Integer version, Map<Integer, Integer> employeeVersionsById) {
+        long hash = 1125899906842597L;
+        for (Map.Entry<Integer, Integer> employeeVersion : employeeVersionsById.entrySet()) {
+            hash = 31 * hash + employeeVersion.getKey();
+            hash = 31 * hash + (employeeVersion.getValue() == null ? 0 : employeeVersion.getValue());
+        }
+        return version + "-" + employeeVersionsById.size() + "-" + Long.toHexString(hash);
+    }
+}
@@ -0,0 +1,83 @@
+package com.thoughtworks.springbootemployee.startup;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class CurrentSchemaMigrationStrategy implements FlywayMigrationStrategy {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CurrentSchemaMigrationStrategy.class);
+
+    private final ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver();
+
+    @Override
+    public void migrate(Flyway flyway) {
+        MigrationVersion available = latestAvailable(flyway.getConfiguration());
+        MigrationVersion applied = latestApplied(flyway.getConfiguration());
+        if (available != null && available.equals(applied)) {
+            LOGGER.info("Schema is current at version {}, skipping Flyway validation and migration", applied);
+            return;
+        }
+        flyway.migrate();
+    }
+
+    MigrationVersion latestAvailable(Configuration configuration) {
+        MigrationVersion latest = null;
+        for (Location location : configuration.getLocations()) {
+            if (!location.isClassPath()) {
+                return null;
+            }
+            for (String suffix : configuration.getSqlMigrationSuffixes()) {
+                String pattern = ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + location.getPath() + "/"
+                        + configuration.getSqlMigrationPrefix() + "*" + configuration.getSqlMigrationSeparator() + "*" + suffix;
+                try {
+                    for (Resource resource : resourcePatternResolver.getResources(pattern)) {
+                        MigrationVersion version = versionOf(resource.getFilename(), configuration);
+                        if (latest == null || version.compareTo(latest) > 0) {
+                            latest = version;
+                        }
+                    }
+                } catch (IOException e) {
+                    return null;
+                }
+            }
+        }
+        return latest;
+    }
+
+    MigrationVersion latestApplied(Configuration configuration) {
+        String schema = configuration.getSchemas().length == 0 ? "" : "\"" + configuration.getSchemas()[0] + "\".";
+        String sql = "select \"version\" from " + schema + "\"" + configuration.getTable() + "\" where \"success\" = true and \"version\" is not null";
+        try (Connection connection = configuration.getDataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet versions = statement.executeQuery(sql)) {
+            MigrationVersion latest = null;
+            while (versions.next()) {
+                MigrationVersion version = MigrationVersion.fromVersion(versions.getString(1));
+                if (latest == null || version.compareTo(latest) > 0) {
+                    latest = version;
+                }
+            }
+            return latest;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private static MigrationVersion versionOf(String filename, Configuration configuration) {
+        String version = filename.substring(configuration.getSqlMigrationPrefix().length(), filename.indexOf(configuration.getSqlMigrationSeparator()));
+        return MigrationVersion.fromVersion(version.replace('_', '.'));
+    }
+}
@@ -0,0 +1,19 @@
+package com.thoughtworks.springbootemployee.startup;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+
+public class ExitOnReadyListener implements ApplicationListener<ApplicationReadyEvent>, Ordered {
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
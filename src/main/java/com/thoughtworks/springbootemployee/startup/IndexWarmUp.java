@@ -0,0 +1,47 @@
+package com.thoughtworks.springbootemployee.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+public class IndexWarmUp implements ApplicationListener<ApplicationReadyEvent>, Ordered {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IndexWarmUp.class);
+
+    private final List<Runnable> reloads;
+    private final boolean async;
+
+    public IndexWarmUp(List<Runnable> reloads, boolean async) {
+        this.reloads = reloads;
+        this.async = async;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!async) {
+            reloads.forEach(Runnable::run);
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "index-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void warmUp() {
+        long started = System.nanoTime();
+        try {
+            reloads.forEach(Runnable::run);
+            LOGGER.info("Warmed up in-memory indexes in {} ms", (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Warming up in-memory indexes failed", e);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+}
@@ -0,0 +1,51 @@
+package com.thoughtworks.springbootemployee.startup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class ReloadableIndex<T> {
+    private final Supplier<T> factory;
+    private final Object reloadLock = new Object();
+    private volatile T current;
+    private List<Consumer<T>> pendingChanges;
+
+    public ReloadableIndex(Supplier<T> factory) {
+        this.factory = factory;
+        this.current = factory.get();
+    }
+
+    public T current() {
+        return current;
+    }
+
+    public synchronized void apply(Consumer<T> change) {
+        change.accept(current);
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    public void reload(Consumer<T> loader) {
+        synchronized (reloadLock) {
+            T fresh = factory.get();
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+            }
+            try {
+                loader.accept(fresh);
+                synchronized (this) {
+                    // Changes committed while the loader read its snapshot may be older or newer than the rows it saw;
+                    // replaying them in order leaves the fresh index at the latest committed state.
+                    pendingChanges.forEach(change -> change.accept(fresh));
+                    current = fresh;
+                }
+            } finally {
+                synchronized (this) {
+                    pendingChanges = null;
+                }
+            }
+        }
+    }
+}
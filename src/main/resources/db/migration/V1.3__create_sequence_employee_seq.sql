@@ -0,0 +1,2 @@
+create sequence employee_seq start with 1 increment by 50;
+alter sequence employee_seq restart with (select coalesce(max(id), 0) + 1 from employee)
@@ -0,0 +1,2 @@
+alter table employee add column version integer default 0 not null;
+alter table company add column version integer default 0 not null
@@ -0,0 +1 @@
+update company c set employee_number = (select count(*) from employee e where e.company_id = c.id)
@@ -0,0 +1,106 @@
+package com.thoughtworks.springbootemployee.IntegrationTest;
+
+import com.jayway.jsonpath.JsonPath;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.service.AnalyticsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AnalyticsIntegrationTest {
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private AnalyticsService analyticsService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void beforeEach() {
+        analyticsService.reload();
+    }
+
+    @AfterEach
+    void afterEach() {
+        companyRepository.deleteAll();
+        employeeRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+    }
+
+    private int postEmployee(String name, int age, String gender, int salary, Integer companyId) throws Exception {
+        String response = mockMvc.perform(post("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"" + name + "\", \"age\": " + age + ", \"gender\": \"" + gender + "\", \"salary\": " + salary
+                        + ", \"companyId\": " + companyId + "}"))
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "$.id");
+    }
+
+    @Test
+    void should_reflect_inserts_updates_and_deletes_when_hit_get_analytics_summary_given_filters() throws Exception {
+        //given
+        Company company = companyRepository.save(new Company(null, "alibaba", 0, Collections.emptyList()));
+        int firstId = postEmployee("alibaba1", 20, "male", 6000, company.getId());
+        postEmployee("alibaba2", 30, "female", 8000, company.getId());
+        int thirdId = postEmployee("alibaba3", 40, "male", 10000, null);
+
+        mockMvc.perform(get("/analytics/summary?gender=male"))
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.salaryTotal").value(16000))
+                .andExpect(jsonPath("$.averageAge").value(30.0));
+
+        mockMvc.perform(put("/employees/" + firstId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\": " + firstId + ", \"salary\": 7000}"));
+        mockMvc.perform(delete("/employees/" + thirdId));
+
+        mockMvc.perform(get("/analytics/summary?gender=male"))
+                .andExpect(jsonPath("$.count").value(1))
+                .andExpect(jsonPath("$.salaryTotal").value(7000));
+        mockMvc.perform(get("/analytics/summary?companyId=" + company.getId() + "&minSalary=7500"))
+                .andExpect(jsonPath("$.count").value(1))
+                .andExpect(jsonPath("$.maxSalary").value(8000));
+
+        mockMvc.perform(delete("/companies/" + company.getId()));
+        mockMvc.perform(get("/analytics/summary"))
+                .andExpect(jsonPath("$.count").value(0));
+    }
+
+    @Test
+    void should_return_buckets_when_hit_get_salary_histogram_given_bucket_width() throws Exception {
+        //given
+        postEmployee("alibaba1", 20, "male", 6000, null);
+        postEmployee("alibaba2", 30, "female", 6500, null);
+        postEmployee("alibaba3", 40, "male", 8200, null);
+
+        mockMvc.perform(get("/analytics/salary-histogram?bucketWidth=1000"))
+                .andExpect(jsonPath("$.size()").value(3))
+                .andExpect(jsonPath("$[0].from").value(6000))
+                .andExpect(jsonPath("$[0].to").value(7000))
+                .andExpect(jsonPath("$[0].count").value(2))
+                .andExpect(jsonPath("$[1].count").value(0))
+                .andExpect(jsonPath("$[2].count").value(1));
+        mockMvc.perform(get("/analytics/age-histogram?bucketWidth=0"))
+                .andExpect(status().isBadRequest());
+    }
+}
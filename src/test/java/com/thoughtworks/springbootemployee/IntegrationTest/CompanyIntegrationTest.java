@@ -1,23 +1,39 @@
 package com.thoughtworks.springbootemployee.IntegrationTest;
 
+import com.jayway.jsonpath.JsonPath;
 import com.thoughtworks.springbootemployee.model.Company;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.querylog.SlowQueryLog;
 import com.thoughtworks.springbootemployee.repository.CompanyRepository;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -28,11 +44,18 @@ class CompanyIntegrationTest {
     private CompanyRepository companyRepository;
     @Autowired
     private MockMvc mockMvc;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private SlowQueryLog slowQueryLog;
 
     @AfterEach
     void afterEach() {
         companyRepository.deleteAll();
         employeeRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
     }
 
     @Test
@@ -122,4 +145,435 @@ class CompanyIntegrationTest {
                 .andExpect(jsonPath("$.companyName").value("baidu"))
                 .andExpect(jsonPath("$.employeeNumber").value(0));
     }
+
+    @Test
+    void should_return_bad_request_when_hit_update_company_given_duplicate_employee_ids() throws Exception {
+        Company company = companyRepository.save(new Company(null, "alibaba", 1, Collections.emptyList()));
+        Employee employee = new Employee(null, "alibaba1", 20, "male", 6000);
+        employee.setCompanyId(company.getId());
+        employee = employeeRepository.save(employee);
+        String companyJson = "{\n" +
+                "    \"id\": " + company.getId() + ", \n" +
+                "    \"companyName\": \"alibaba\",\n" +
+                "    \"employees\": [\n" +
+                "        {\"id\": " + employee.getId() + ", \"name\": \"alibaba1\", \"age\": 20, \"gender\": \"male\", \"salary\": 6000},\n" +
+                "        {\"id\": " + employee.getId() + ", \"name\": \"alibaba2\", \"age\": 21, \"gender\": \"male\", \"salary\": 7000}\n" +
+                "    ]\n" +
+                "}";
+
+        mockMvc.perform(put("/companies/" + company.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(companyJson))
+                .andExpect(status().isBadRequest());
+
+        assertEquals("alibaba1", employeeRepository.findById(employee.getId()).get().getName());
+    }
+
+    @Test
+    void should_stream_companies_as_ndjson_when_hit_get_companies_given_accept_ndjson() throws Exception {
+        Company company = companyRepository.save(new Company(null, "alibaba", 0, Collections.emptyList()));
+
+        MvcResult mvcResult = mockMvc.perform(get("/companies").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(content().string("{\"id\":" + company.getId() + ",\"companyName\":\"alibaba\",\"employeeNumber\":0,\"version\":0,\"employees\":[]}\n"));
+    }
+
+    @Test
+    void should_load_employees_of_streamed_companies_in_one_query_when_hit_get_companies_given_accept_ndjson() throws Exception {
+        saveCompaniesWithEmployees(10, 3);
+
+        long statementCount = countStatements(() -> {
+            try {
+                MvcResult mvcResult = mockMvc.perform(get("/companies").accept("application/x-ndjson"))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+                String body = mockMvc.perform(asyncDispatch(mvcResult)).andReturn().getResponse().getContentAsString();
+                String[] lines = body.split("\n");
+                assertEquals(10, lines.length);
+                assertEquals(3, (int) JsonPath.read(lines[9], "$.employees.size()"));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertTrue(statementCount <= 2, "expected at most 2 statements but was " + statementCount);
+    }
+
+    @Test
+    void should_return_bad_request_when_hit_get_companies_by_cursor_given_limit_out_of_range() throws Exception {
+        for (String limit : new String[]{"0", "-1", "1001", String.valueOf(Integer.MAX_VALUE)}) {
+            mockMvc.perform(get("/companies?limit=" + limit))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string("The limit is invalid."));
+        }
+    }
+
+    private void saveCompaniesWithEmployees(int companyCount, int employeesPerCompany) {
+        for (int companyIndex = 0; companyIndex < companyCount; companyIndex++) {
+            Company company = companyRepository.save(new Company(null, "company" + companyIndex, employeesPerCompany, Collections.emptyList()));
+            List<Employee> employees = new ArrayList<>();
+            for (int employeeIndex = 0; employeeIndex < employeesPerCompany; employeeIndex++) {
+                Employee employee = new Employee(null, "employee" + employeeIndex, 20, "male", 6000);
+                employee.setCompanyId(company.getId());
+                employees.add(employee);
+            }
+            employeeRepository.saveAll(employees);
+        }
+    }
+
+    private long countStatements(Runnable request) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        request.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void should_load_employees_of_all_companies_in_one_query_when_hit_get_all_companies_given_companies_with_employees() throws Exception {
+        saveCompaniesWithEmployees(10, 3);
+
+        long statementCount = countStatements(() -> {
+            try {
+                mockMvc.perform(get("/companies"))
+                        .andExpect(jsonPath("$.size()").value(10))
+                        .andExpect(jsonPath("$[9].employees.size()").value(3));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertTrue(statementCount <= 2, "expected at most 2 statements but was " + statementCount);
+    }
+
+    @Test
+    void should_load_employees_of_page_in_one_query_when_hit_get_companies_pagination_given_companies_with_employees() throws Exception {
+        saveCompaniesWithEmployees(10, 3);
+
+        long statementCount = countStatements(() -> {
+            try {
+                mockMvc.perform(get("/companies?page=1&pageSize=5"))
+                        .andExpect(jsonPath("$.content.size()").value(5))
+                        .andExpect(jsonPath("$.content[4].employees.size()").value(3));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertTrue(statementCount <= 3, "expected at most 3 statements but was " + statementCount);
+    }
+
+    @Test
+    void should_use_one_query_when_hit_get_employees_by_company_id_given_company_id() throws Exception {
+        saveCompaniesWithEmployees(1, 3);
+        Integer companyId = companyRepository.findAll().get(0).getId();
+
+        long statementCount = countStatements(() -> {
+            try {
+                mockMvc.perform(get(String.format("/companies/%s/employees", companyId)))
+                        .andExpect(jsonPath("$.size()").value(3));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertTrue(statementCount <= 1, "expected at most 1 statement but was " + statementCount);
+    }
+
+    @Test
+    void should_insert_company_employees_in_jdbc_batches_when_hit_insert_company_given_many_employees() throws Exception {
+        int count = 200;
+        StringBuilder companyJson = new StringBuilder("{\"companyName\": \"alibaba\", \"employeeNumber\": " + count + ", \"employees\": [");
+        for (int index = 0; index < count; index++) {
+            companyJson.append(index == 0 ? "" : ",")
+                    .append("{\"name\": \"employee").append(index).append("\", \"age\": 20, \"gender\": \"male\", \"salary\": 6000}");
+        }
+        companyJson.append("]}");
+
+        long statementCount = countStatements(() -> {
+            try {
+                mockMvc.perform(post("/companies")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(companyJson.toString()))
+                        .andExpect(jsonPath("$.employees.size()").value(count))
+                        .andExpect(jsonPath("$.employees[0].companyId").isNumber());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertEquals(count, employeeRepository.count());
+        assertTrue(statementCount <= 12, "expected batched inserts but prepared " + statementCount + " statements");
+    }
+
+    @Test
+    void should_apply_employee_diff_when_hit_update_company_given_changed_employee_list() throws Exception {
+        saveCompaniesWithEmployees(1, 2);
+        Company company = companyRepository.findAll().get(0);
+        List<Employee> employees = employeeRepository.findAllByCompanyId(company.getId());
+        String companyJson = "{\"id\": " + company.getId() + ", \"employees\": [" +
+                "{\"id\": " + employees.get(0).getId() + ", \"name\": \"renamed\"}," +
+                "{\"name\": \"newcomer\", \"age\": 30, \"gender\": \"female\", \"salary\": 9000}" +
+                "]}";
+
+        mockMvc.perform(put("/companies/" + company.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(companyJson))
+                .andExpect(jsonPath("$.employees.size()").value(2))
+                .andExpect(jsonPath("$.employees[0].name").value("renamed"))
+                .andExpect(jsonPath("$.employees[0].age").value(20))
+                .andExpect(jsonPath("$.employees[1].name").value("newcomer"));
+
+        assertEquals(2, employeeRepository.findAllByCompanyId(company.getId()).size());
+        assertNull(employeeRepository.findById(employees.get(1).getId()).get().getCompanyId());
+    }
+
+    @Test
+    void should_evict_cached_company_when_hit_insert_employee_given_employee_of_cached_company() throws Exception {
+        Company company = companyRepository.save(new Company(null, "alibaba", 0, Collections.emptyList()));
+        mockMvc.perform(get("/companies/" + company.getId()))
+                .andExpect(jsonPath("$.employees.size()").value(0));
+
+        mockMvc.perform(post("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"alibaba1\", \"age\": 20, \"gender\": \"male\", \"salary\": 6000, \"companyId\": " + company.getId() + "}"));
+
+        mockMvc.perform(get("/companies/" + company.getId()))
+                .andExpect(jsonPath("$.employees.size()").value(1));
+    }
+
+    @Test
+    void should_patch_company_name_and_evict_cached_company_when_hit_patch_company_given_current_version() throws Exception {
+        Company company = companyRepository.save(new Company(null, "alibaba", 0, Collections.emptyList()));
+        mockMvc.perform(get("/companies/" + company.getId()))
+                .andExpect(jsonPath("$.companyName").value("alibaba"));
+
+        mockMvc.perform(patch("/companies/" + company.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"companyName\": \"baidu\", \"version\": " + company.getVersion() + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.companyName").value("baidu"))
+                .andExpect(jsonPath("$.employeeNumber").value(0))
+                .andExpect(jsonPath("$.version").value(company.getVersion() + 1));
+        mockMvc.perform(patch("/companies/" + company.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"companyName\": \"tencent\", \"version\": " + company.getVersion() + "}"))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(get("/companies/" + company.getId()))
+                .andExpect(jsonPath("$.companyName").value("baidu"));
+    }
+
+    @Test
+    void should_keep_derived_employee_number_when_hit_patch_company_given_employee_number() throws Exception {
+        Company company = companyRepository.save(new Company(null, "alibaba", 0, Collections.emptyList()));
+
+        mockMvc.perform(patch("/companies/" + company.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"employeeNumber\": 99, \"version\": " + company.getVersion() + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.companyName").value("alibaba"))
+                .andExpect(jsonPath("$.employeeNumber").value(0));
+
+        assertEquals(0, companyRepository.findById(company.getId()).get().getEmployeeNumber());
+    }
+
+    @Test
+    void should_delete_company_and_its_employees_in_one_statement_when_hit_delete_company_given_id() throws Exception {
+        //given
+        saveCompaniesWithEmployees(1, 3);
+        Company company = companyRepository.findAll().get(0);
+
+        long statementCount = countStatements(() -> {
+            try {
+                mockMvc.perform(delete("/companies/" + company.getId()))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$").value(true));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertEquals(1, statementCount);
+        assertEquals(0, companyRepository.count());
+        assertEquals(0, employeeRepository.count());
+        mockMvc.perform(delete("/companies/" + company.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void should_return_aggregated_stats_when_hit_get_company_stats_given_company_with_employees() throws Exception {
+        //given
+        Company company = companyRepository.save(new Company(null, "alibaba", 0, Collections.emptyList()));
+        Company emptyCompany = companyRepository.save(new Company(null, "baidu", 0, Collections.emptyList()));
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee(null, "alibaba1", 20, "male", 6000));
+        employees.add(new Employee(null, "alibaba2", 21, "female", 7000));
+        employees.add(new Employee(null, "alibaba3", 22, "male", 11000));
+        employees.forEach(employee -> employee.setCompanyId(company.getId()));
+        employeeRepository.saveAll(employees);
+
+        mockMvc.perform(get("/companies/" + company.getId() + "/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.companyId").value(company.getId()))
+                .andExpect(jsonPath("$.headcount").value(3))
+                .andExpect(jsonPath("$.salaryTotal").value(24000))
+                .andExpect(jsonPath("$.averageSalary").value(8000.0))
+                .andExpect(jsonPath("$.minSalary").value(6000))
+                .andExpect(jsonPath("$.maxSalary").value(11000))
+                .andExpect(jsonPath("$.genders.male").value(2))
+                .andExpect(jsonPath("$.genders.female").value(1));
+        mockMvc.perform(get("/companies/stats"))
+                .andExpect(jsonPath("$.size()").value(2))
+                .andExpect(jsonPath("$[0].headcount").value(3))
+                .andExpect(jsonPath("$[1].companyId").value(emptyCompany.getId()))
+                .andExpect(jsonPath("$[1].headcount").value(0));
+        mockMvc.perform(get("/companies/" + (emptyCompany.getId() + 1000) + "/stats"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void should_keep_employee_number_in_sync_when_employees_are_inserted_transferred_and_deleted() throws Exception {
+        //given
+        Company source = companyRepository.save(new Company(null, "alibaba", 0, Collections.emptyList()));
+        Company target = companyRepository.save(new Company(null, "baidu", 0, Collections.emptyList()));
+        for (int index = 0; index < 2; index++) {
+            mockMvc.perform(post("/employees")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"name\": \"alibaba" + index + "\", \"age\": 20, \"gender\": \"male\", \"salary\": 6000, \"companyId\": " + source.getId() + "}"));
+        }
+        List<Employee> employees = employeeRepository.findAllByCompanyId(source.getId());
+        assertEquals(2, companyRepository.findById(source.getId()).get().getEmployeeNumber());
+
+        mockMvc.perform(put("/companies/" + target.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\": " + target.getId() + ", \"employees\": [{\"id\": " + employees.get(0).getId() + "}]}"));
+        assertEquals(1, companyRepository.findById(source.getId()).get().getEmployeeNumber());
+        assertEquals(1, companyRepository.findById(target.getId()).get().getEmployeeNumber());
+
+        mockMvc.perform(delete("/employees/" + employees.get(1).getId()));
+        assertEquals(0, companyRepository.findById(source.getId()).get().getEmployeeNumber());
+    }
+
+    @Test
+    void should_select_only_summary_columns_when_hit_get_companies_given_view_summary() throws Exception {
+        //given
+        saveCompaniesWithEmployees(2, 3);
+        slowQueryLog.reset();
+
+        //when
+        long statementCount = countStatements(() -> {
+            try {
+                mockMvc.perform(get("/companies?view=summary"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.size()").value(2))
+                        .andExpect(jsonPath("$[0].companyName").value("company0"))
+                        .andExpect(jsonPath("$[0].employeeNumber").value(3))
+                        .andExpect(jsonPath("$[0].employees").doesNotExist())
+                        .andExpect(jsonPath("$[0].version").doesNotExist());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        //then
+        assertEquals(1, statementCount);
+        String sql = slowQueryLog.top().stream()
+                .filter(query -> "CompanyService.findAllSummaries".equals(query.getMaxOrigin()))
+                .findFirst().get().getSql();
+        assertFalse(sql.contains("version"), sql);
+        assertFalse(sql.contains("employee "), sql);
+    }
+
+    @Test
+    void should_return_only_requested_fields_when_hit_get_company_by_id_given_fields() throws Exception {
+        //given
+        saveCompaniesWithEmployees(1, 3);
+        Integer companyId = companyRepository.findAll().get(0).getId();
+
+        //when
+        //then
+        mockMvc.perform(get("/companies/" + companyId + "?fields=companyName,id"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"companyName\":\"company0\",\"id\":" + companyId + "}", true));
+        mockMvc.perform(get("/companies?fields=id,employees"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("The fields are invalid."));
+    }
+
+    @Test
+    void should_return_not_modified_in_one_query_when_hit_get_company_by_id_given_current_etag() throws Exception {
+        //given
+        saveCompaniesWithEmployees(1, 3);
+        Integer companyId = companyRepository.findAll().get(0).getId();
+        String eTag = mockMvc.perform(get("/companies/" + companyId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        //when
+        long statementCount = countStatements(() -> {
+            try {
+                mockMvc.perform(get("/companies/" + companyId).header("If-None-Match", "W/" + eTag))
+                        .andExpect(status().isNotModified())
+                        .andExpect(header().string("ETag", eTag))
+                        .andExpect(content().string(""));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        //then
+        assertEquals(1, statementCount);
+    }
+
+    @Test
+    void should_change_company_etag_when_hit_update_employee_given_employee_of_company() throws Exception {
+        //given
+        saveCompaniesWithEmployees(1, 1);
+        Company company = companyRepository.findAll().get(0);
+        Employee employee = employeeRepository.findAll().get(0);
+        String eTag = mockMvc.perform(get("/companies/" + company.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        //when
+        mockMvc.perform(put("/employees/" + employee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\": " + employee.getId() + ", \"name\": \"renamed\", \"age\": 20, \"gender\": \"male\", \"salary\": 6000, \"companyId\": " + company.getId() + "}"))
+                .andExpect(status().isOk());
+
+        //then
+        mockMvc.perform(get("/companies/" + company.getId()).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees[0].name").value("renamed"));
+    }
+
+    @Test
+    void should_return_precondition_failed_when_hit_update_company_given_stale_if_match() throws Exception {
+        //given
+        Company company = companyRepository.save(new Company(null, "alibaba", 0, Collections.emptyList()));
+        String eTag = mockMvc.perform(get("/companies/" + company.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+        String companyJson = "{\"id\": " + company.getId() + ", \"companyName\": \"baidu\", \"employeeNumber\": 0, \"employees\": []}";
+
+        //when
+        String updatedETag = mockMvc.perform(put("/companies/" + company.getId())
+                .header("If-Match", eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(companyJson))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        //then
+        assertFalse(eTag.equals(updatedETag));
+        mockMvc.perform(put("/companies/" + company.getId())
+                .header("If-Match", eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(companyJson.replace("baidu", "tencent")))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(content().string("The resource has been modified."));
+        mockMvc.perform(get("/companies/" + company.getId()))
+                .andExpect(jsonPath("$.companyName").value("baidu"));
+    }
 }
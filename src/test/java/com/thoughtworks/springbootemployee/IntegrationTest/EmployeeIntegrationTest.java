@@ -1,23 +1,42 @@
 package com.thoughtworks.springbootemployee.IntegrationTest;
 
+import com.jayway.jsonpath.JsonPath;
+import com.thoughtworks.springbootemployee.metrics.RepositoryMetricsAspect;
+import com.thoughtworks.springbootemployee.metrics.SqlStatementMetricsInterceptor;
 import com.thoughtworks.springbootemployee.model.Company;
 import com.thoughtworks.springbootemployee.model.Employee;
 import com.thoughtworks.springbootemployee.repository.CompanyRepository;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -28,11 +47,20 @@ class EmployeeIntegrationTest {
     private CompanyRepository companyRepository;
     @Autowired
     private MockMvc mockMvc;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
 
     @AfterEach
     void afterEach() {
         companyRepository.deleteAll();
         employeeRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
     }
 
     @Test
@@ -152,4 +180,441 @@ class EmployeeIntegrationTest {
                 .andExpect(jsonPath("$").value(true));
 
     }
+
+    @Test
+    void should_stream_employees_as_ndjson_when_hit_get_employees_given_accept_ndjson() throws Exception {
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee(null, "alibaba3", 20, "male", 6000));
+        employees.add(new Employee(null, "alibaba4", 21, "female", 6000));
+        employees = employeeRepository.saveAll(employees);
+
+        MvcResult mvcResult = mockMvc.perform(get("/employees").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(content().string(
+                        "{\"id\":" + employees.get(0).getId() + ",\"name\":\"alibaba3\",\"age\":20,\"gender\":\"male\",\"salary\":6000,\"companyId\":null,\"version\":0}\n" +
+                        "{\"id\":" + employees.get(1).getId() + ",\"name\":\"alibaba4\",\"age\":21,\"gender\":\"female\",\"salary\":6000,\"companyId\":null,\"version\":0}\n"));
+    }
+
+    @Test
+    void should_return_employees_after_cursor_when_hit_get_employees_given_limit_and_next_cursor() throws Exception {
+        //given
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee(null, "alibaba3", 20, "male", 6000));
+        employees.add(new Employee(null, "alibaba4", 21, "female", 6000));
+        employees.add(new Employee(null, "alibaba5", 22, "male", 6000));
+        employeeRepository.saveAll(employees);
+
+        MvcResult firstPage = mockMvc.perform(get("/employees?limit=2"))
+                .andExpect(jsonPath("$.content.size()").value(2))
+                .andExpect(jsonPath("$.content[0].name").value("alibaba3"))
+                .andExpect(jsonPath("$.content[1].name").value("alibaba4"))
+                .andExpect(jsonPath("$.nextCursor").isString())
+                .andReturn();
+        String nextCursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(get("/employees?limit=2&after=" + nextCursor))
+                .andExpect(jsonPath("$.content.size()").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("alibaba5"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void should_return_bad_request_when_hit_get_employees_by_cursor_given_limit_out_of_range() throws Exception {
+        for (String limit : new String[]{"0", "-1", "1001", String.valueOf(Integer.MAX_VALUE)}) {
+            mockMvc.perform(get("/employees?limit=" + limit))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string("The limit is invalid."));
+        }
+    }
+
+    @Test
+    void should_return_bad_request_when_hit_get_employees_given_malformed_cursor() throws Exception {
+        mockMvc.perform(get("/employees?limit=2&after=not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_insert_employees_in_jdbc_batches_when_hit_post_employees_batch_given_employee_array() throws Exception {
+        //given
+        int count = 120;
+        StringBuilder employeesJson = new StringBuilder("[");
+        for (int index = 0; index < count; index++) {
+            employeesJson.append(index == 0 ? "" : ",")
+                    .append("{\"name\": \"employee").append(index).append("\", \"age\": 20, \"gender\": \"male\", \"salary\": 6000}");
+        }
+        employeesJson.append("]");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(post("/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employeesJson.toString()))
+                .andExpect(jsonPath("$.size()").value(count))
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].id").isNumber())
+                .andExpect(jsonPath("$[119].status").value("CREATED"));
+
+        assertEquals(count, employeeRepository.count());
+        assertTrue(statistics.getPrepareStatementCount() <= 10, "expected batched inserts but prepared " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    void should_report_failed_items_only_when_hit_post_employees_batch_given_one_invalid_employee() throws Exception {
+        //given
+        String employeesJson = "[" +
+                "{\"name\": \"alibaba3\", \"age\": 20, \"gender\": \"male\", \"salary\": 6000}," +
+                "{\"name\": \"alibaba4\", \"age\": 21, \"gender\": \"male\", \"salary\": 6000, \"companyId\": -1}," +
+                "{\"name\": \"alibaba5\", \"age\": 22, \"gender\": \"male\", \"salary\": 6000}" +
+                "]";
+
+        mockMvc.perform(post("/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employeesJson))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[1].status").value("FAILED"))
+                .andExpect(jsonPath("$[1].error").value("companyId does not exist"))
+                .andExpect(jsonPath("$[2].status").value("CREATED"));
+
+        assertEquals(2, employeeRepository.count());
+    }
+
+    @Test
+    void should_return_page_of_male_employees_when_hit_get_employees_by_gender_given_male_page_and_pageSize() throws Exception {
+        //given
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee(null, "alibaba3", 20, "male", 6000));
+        employees.add(new Employee(null, "alibaba4", 21, "female", 6000));
+        employees.add(new Employee(null, "alibaba5", 22, "male", 6000));
+        employees.add(new Employee(null, "alibaba6", 23, "male", 6000));
+        employeeRepository.saveAll(employees);
+
+        mockMvc.perform(get("/employees?gender=male&page=1&pageSize=2"))
+                .andExpect(jsonPath("$.content.size()").value(2))
+                .andExpect(jsonPath("$.content[0].name").value("alibaba3"))
+                .andExpect(jsonPath("$.content[1].name").value("alibaba5"))
+                .andExpect(jsonPath("$.totalElements").value(3));
+    }
+
+    @Test
+    void should_stream_male_employees_as_ndjson_when_hit_get_employees_by_gender_given_accept_ndjson() throws Exception {
+        //given
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee(null, "alibaba3", 20, "male", 6000));
+        employees.add(new Employee(null, "alibaba4", 21, "female", 6000));
+        employees = employeeRepository.saveAll(employees);
+
+        MvcResult mvcResult = mockMvc.perform(get("/employees?gender=male").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(content().string(
+                        "{\"id\":" + employees.get(0).getId() + ",\"name\":\"alibaba3\",\"age\":20,\"gender\":\"male\",\"salary\":6000,\"companyId\":null,\"version\":0}\n"));
+    }
+
+    @Test
+    void should_serve_repeated_get_employee_by_id_from_cache_until_employee_is_updated() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee(null, "alibaba3", 20, "male", 6000));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        mockMvc.perform(get("/employees/" + employee.getId()));
+        statistics.clear();
+
+        mockMvc.perform(get("/employees/" + employee.getId()))
+                .andExpect(jsonPath("$.age").value(20));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(put("/employees/" + employee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\": " + employee.getId() + ", \"age\": 21}"));
+        mockMvc.perform(get("/employees/" + employee.getId()))
+                .andExpect(jsonPath("$.age").value(21));
+    }
+
+    @Test
+    void should_update_changed_fields_in_one_statement_when_hit_patch_employee_given_current_version() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee(null, "alibaba3", 20, "male", 6000));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(patch("/employees/" + employee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"age\": 21, \"version\": " + employee.getVersion() + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("alibaba3"))
+                .andExpect(jsonPath("$.age").value(21))
+                .andExpect(jsonPath("$.salary").value(6000))
+                .andExpect(jsonPath("$.version").value(employee.getVersion() + 1));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(21, employeeRepository.findById(employee.getId()).get().getAge());
+    }
+
+    @Test
+    void should_return_conflict_when_hit_patch_employee_given_stale_version() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee(null, "alibaba3", 20, "male", 6000));
+        mockMvc.perform(patch("/employees/" + employee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"age\": 21}"));
+
+        mockMvc.perform(patch("/employees/" + employee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"age\": 22, \"version\": " + employee.getVersion() + "}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(patch("/employees/" + (employee.getId() + 1000))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"age\": 22}"))
+                .andExpect(status().isNotFound());
+        assertEquals(21, employeeRepository.findById(employee.getId()).get().getAge());
+    }
+
+    @Test
+    void should_delete_listed_employees_in_one_statement_when_hit_delete_employees_given_ids() throws Exception {
+        //given
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee(null, "alibaba3", 20, "male", 6000));
+        employees.add(new Employee(null, "alibaba4", 21, "female", 6000));
+        employees.add(new Employee(null, "alibaba5", 22, "male", 6000));
+        employees = employeeRepository.saveAll(employees);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(delete("/employees?ids=" + employees.get(0).getId() + "," + employees.get(2).getId() + ",-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(2));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(1, employeeRepository.count());
+        mockMvc.perform(delete("/employees?ids=-1"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void should_record_repository_latency_and_sql_statement_count_when_hit_get_employees_by_gender_given_male() throws Exception {
+        //given
+        employeeRepository.save(new Employee(null, "alibaba3", 20, "male", 6000));
+
+        mockMvc.perform(get("/employees?gender=male"))
+                .andExpect(jsonPath("$.size()").value(1));
+
+        Timer repositoryTimer = meterRegistry.find(RepositoryMetricsAspect.METRIC_NAME)
+                .tags("repository", "EmployeeRepository", "method", "findAllByGender")
+                .timer();
+        DistributionSummary sqlStatements = meterRegistry.find(SqlStatementMetricsInterceptor.METRIC_NAME)
+                .tag("handler", "EmployeeController.getEmployeesByGender")
+                .summary();
+        Timer requestTimer = meterRegistry.find("http.server.requests")
+                .tag("handler", "EmployeeController.getEmployeesByGender")
+                .timer();
+        assertTrue(repositoryTimer.count() >= 1);
+        assertTrue(sqlStatements.count() >= 1);
+        assertEquals(1, sqlStatements.max());
+        assertTrue(requestTimer.count() >= 1);
+        assertEquals(3, requestTimer.takeSnapshot().percentileValues().length);
+    }
+
+    @Test
+    void should_return_only_requested_fields_when_hit_get_employees_given_fields() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee(null, "alibaba1", 20, "male", 6000));
+
+        //when
+        //then
+        mockMvc.perform(get("/employees?fields=name, id,name"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"name\":\"alibaba1\",\"id\":" + employee.getId() + "}]", true));
+        mockMvc.perform(get("/employees/" + employee.getId() + "?fields=salary"))
+                .andExpect(content().json("{\"salary\":6000}", true));
+    }
+
+    @Test
+    void should_return_bad_request_when_hit_get_employees_given_unknown_field() throws Exception {
+        mockMvc.perform(get("/employees?fields=id,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("The fields are invalid."));
+    }
+
+    @Test
+    void should_return_not_modified_without_loading_employee_when_hit_get_employee_by_id_given_current_etag() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee(null, "alibaba3", 20, "male", 6000));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //when
+        //then
+        mockMvc.perform(get("/employees/" + employee.getId()).header("If-None-Match", "\"" + employee.getVersion() + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"" + employee.getVersion() + "\""))
+                .andExpect(content().string(""));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        mockMvc.perform(get("/employees/" + employee.getId()).header("If-None-Match", "\"" + (employee.getVersion() + 1) + "\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + employee.getVersion() + "\""))
+                .andExpect(jsonPath("$.name").value("alibaba3"));
+    }
+
+    @Test
+    void should_return_precondition_failed_when_hit_update_employee_given_stale_if_match() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee(null, "alibaba3", 20, "male", 6000));
+        String eTag = "\"" + employee.getVersion() + "\"";
+        mockMvc.perform(put("/employees/" + employee.getId())
+                .header("If-Match", eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\": " + employee.getId() + ", \"age\": 21}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + (employee.getVersion() + 1) + "\""));
+
+        //when
+        //then
+        mockMvc.perform(put("/employees/" + employee.getId())
+                .header("If-Match", eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\": " + employee.getId() + ", \"age\": 22}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(content().string("The resource has been modified."));
+        assertEquals(21, employeeRepository.findById(employee.getId()).get().getAge());
+    }
+
+    private List<Employee> saveFilterEmployees() {
+        Company company = companyRepository.save(new Company(null, "alibaba", 0, Collections.emptyList()));
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee(null, "alibaba1", 25, "male", 7000));
+        employees.add(new Employee(null, "alibaba2", 30, "male", 9000));
+        employees.add(new Employee(null, "alibaba3", 35, "female", 9000));
+        employees.add(new Employee(null, "alibaba4", 40, "male", 8000));
+        employees.add(new Employee(null, "alibaba5", 45, "male", 9500));
+        employees.forEach(employee -> employee.setCompanyId(company.getId()));
+        employees.add(new Employee(null, "alibaba6", 30, "male", 9000));
+        return employeeRepository.saveAll(employees);
+    }
+
+    @Test
+    void should_return_sorted_page_of_matching_employees_when_hit_filter_employees_given_combined_criteria() throws Exception {
+        //given
+        List<Employee> employees = saveFilterEmployees();
+        Integer companyId = employees.get(0).getCompanyId();
+
+        //when
+        //then
+        mockMvc.perform(get("/employees/filter?gender=male&minAge=26&maxAge=45&minSalary=8000&companyId=" + companyId
+                + "&sort=-salary,age&page=1&pageSize=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.content.size()").value(2))
+                .andExpect(jsonPath("$.content[0].name").value("alibaba5"))
+                .andExpect(jsonPath("$.content[1].name").value("alibaba2"));
+        mockMvc.perform(get("/employees/filter?gender=male&minAge=26&maxAge=45&minSalary=8000&companyId=" + companyId
+                + "&sort=-salary,age&page=2&pageSize=2"))
+                .andExpect(jsonPath("$.content.size()").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("alibaba4"));
+        mockMvc.perform(get("/employees/filter?minSalary=9000&maxSalary=8000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("The filter is invalid."));
+    }
+
+    @Test
+    void should_stream_all_matching_employees_as_ndjson_when_hit_filter_employees_given_accept_ndjson() throws Exception {
+        //given
+        List<Employee> employees = saveFilterEmployees();
+
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/employees/filter?gender=male&minSalary=9000&maxSalary=9000")
+                .accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(employees.get(1).getId(), (Integer) JsonPath.read(lines[0], "$.id"));
+        assertEquals(employees.get(5).getId(), (Integer) JsonPath.read(lines[1], "$.id"));
+    }
+
+    @Test
+    void should_use_composite_indexes_when_filter_employees_given_gender_with_age_or_company_with_salary() {
+        String genderAndAgePlan = jdbcTemplate.queryForObject(
+                "explain select * from employee where gender = 'male' and age between 20 and 30", String.class);
+        String companyAndSalaryPlan = jdbcTemplate.queryForObject(
+                "explain select * from employee where company_id = 1 and salary >= 8000", String.class);
+
+        assertTrue(genderAndAgePlan.contains("IDX_EMPLOYEE_GENDER_AGE"), genderAndAgePlan);
+        assertTrue(companyAndSalaryPlan.contains("IDX_EMPLOYEE_COMPANY_ID_SALARY"), companyAndSalaryPlan);
+    }
+
+    @Test
+    void should_stream_employees_as_csv_when_hit_export_employees_given_employees() throws Exception {
+        //given
+        Company company = companyRepository.save(new Company(null, "alibaba", 1, Collections.emptyList()));
+        Employee smith = new Employee(null, "Smith, \"Jo\"", 20, "male", 6000);
+        smith.setCompanyId(company.getId());
+        List<Employee> employees = employeeRepository.saveAll(asList(smith, new Employee(null, "alibaba4", 21, "female", 7000)));
+
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/employees/export.csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"employees.csv\""))
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string("id,name,age,gender,salary,companyId\r\n" +
+                        employees.get(0).getId() + ",\"Smith, \"\"Jo\"\"\",20,male,6000," + company.getId() + "\r\n" +
+                        employees.get(1).getId() + ",alibaba4,21,female,7000,\r\n"));
+    }
+
+    @Test
+    void should_import_valid_rows_and_report_failed_lines_when_hit_import_employees_given_csv() throws Exception {
+        //given
+        Company company = companyRepository.save(new Company(null, "alibaba", 0, Collections.emptyList()));
+        String csv = "name,age,gender,salary,companyId\n" +
+                "alibaba1,20,male,6000," + company.getId() + "\n" +
+                "alibaba2,twenty,male,6000,\n" +
+                "\"Smith, Jo\",22,female,7000,\n" +
+                "alibaba4,23,male,6000,-1\n" +
+                ",24,male,6000,\n";
+
+        //when
+        //then
+        mockMvc.perform(post("/employees/import")
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors[0].index").value(3))
+                .andExpect(jsonPath("$.errors[0].error").value("age must be an integer"))
+                .andExpect(jsonPath("$.errors[1].index").value(6))
+                .andExpect(jsonPath("$.errors[1].error").value("name must not be blank"))
+                .andExpect(jsonPath("$.errors[2].index").value(5))
+                .andExpect(jsonPath("$.errors[2].status").value("FAILED"))
+                .andExpect(jsonPath("$.errors[2].error").value("companyId does not exist"));
+        assertEquals(2, employeeRepository.count());
+        assertEquals(1, companyRepository.findById(company.getId()).get().getEmployeeNumber());
+        mockMvc.perform(get("/employees?gender=female"))
+                .andExpect(jsonPath("$[0].name").value("Smith, Jo"));
+    }
+
+    @Test
+    void should_return_bad_request_when_hit_import_employees_given_csv_without_required_columns() throws Exception {
+        mockMvc.perform(post("/employees/import")
+                .contentType("text/csv")
+                .content("name,age\nalibaba1,20\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("The CSV file is invalid."));
+        assertEquals(0, employeeRepository.count());
+    }
 }
@@ -0,0 +1,98 @@
+package com.thoughtworks.springbootemployee.IntegrationTest;
+
+import com.jayway.jsonpath.JsonPath;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.service.EmployeeSearchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeSearchIntegrationTest {
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private EmployeeSearchService employeeSearchService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void beforeEach() {
+        employeeSearchService.reload();
+    }
+
+    @AfterEach
+    void afterEach() {
+        companyRepository.deleteAll();
+        employeeRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+    }
+
+    private int postEmployee(String name, Integer companyId) throws Exception {
+        String response = mockMvc.perform(post("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"" + name + "\", \"age\": 20, \"gender\": \"male\", \"salary\": 6000, \"companyId\": " + companyId + "}"))
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "$.id");
+    }
+
+    @Test
+    void should_return_ranked_matches_kept_in_sync_with_writes_when_hit_search_employees_given_query() throws Exception {
+        //given
+        Company company = companyRepository.save(new Company(null, "alibaba", 0, Collections.emptyList()));
+        int johnId = postEmployee("John Smith", company.getId());
+        int johnnyId = postEmployee("Johnny Walker", null);
+        postEmployee("Jon Smith", null);
+
+        //when
+        //then
+        mockMvc.perform(get("/employees/search?q=john"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(3))
+                .andExpect(jsonPath("$[0].id").value(johnId))
+                .andExpect(jsonPath("$[0].companyId").value(company.getId()))
+                .andExpect(jsonPath("$[1].id").value(johnnyId))
+                .andExpect(jsonPath("$[2].name").value("Jon Smith"));
+
+        mockMvc.perform(put("/employees/" + johnnyId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\": " + johnnyId + ", \"name\": \"Mary Walker\"}"));
+        mockMvc.perform(delete("/companies/" + company.getId()));
+
+        mockMvc.perform(get("/employees/search?q=walker&limit=5"))
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Mary Walker"));
+        mockMvc.perform(get("/employees/search?q=smith"))
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Jon Smith"));
+    }
+
+    @Test
+    void should_return_bad_request_when_hit_search_employees_given_blank_query_or_invalid_limit() throws Exception {
+        mockMvc.perform(get("/employees/search").param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("The search query is invalid."));
+        mockMvc.perform(get("/employees/search?q=john&limit=1000"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,58 @@
+package com.thoughtworks.springbootemployee.IntegrationTest;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("fast-startup")
+class FastStartupIntegrationTest {
+    @Autowired
+    private ConfigurableApplicationContext context;
+    @Autowired
+    private Flyway flyway;
+    @Autowired
+    private FlywayMigrationStrategy flywayMigrationStrategy;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void should_defer_beans_until_first_request_and_keep_background_jobs_eager_when_start_given_fast_startup_profile() throws Exception {
+        assertFalse(context.getBeanFactory().containsSingleton("companyController"));
+        assertTrue(context.getBeanFactory().containsSingleton("outboxRelay"));
+
+        mockMvc.perform(get("/companies")).andExpect(status().isOk());
+
+        assertTrue(context.getBeanFactory().containsSingleton("companyController"));
+    }
+
+    @Test
+    void should_skip_migration_when_migrate_given_schema_at_latest_version() {
+        //given
+        Flyway spiedFlyway = spy(flyway);
+
+        //when
+        flywayMigrationStrategy.migrate(spiedFlyway);
+
+        //then
+        verify(spiedFlyway, never()).migrate();
+        assertEquals(MigrationVersion.fromVersion("1.8"), flyway.info().current().getVersion());
+    }
+}
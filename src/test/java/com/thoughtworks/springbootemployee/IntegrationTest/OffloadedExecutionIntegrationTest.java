@@ -0,0 +1,112 @@
+package com.thoughtworks.springbootemployee.IntegrationTest;
+
+import com.thoughtworks.springbootemployee.metrics.SqlStatementMetricsInterceptor;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "execution.mode=offload")
+@AutoConfigureMockMvc
+class OffloadedExecutionIntegrationTest {
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void afterEach() {
+        companyRepository.deleteAll();
+        employeeRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+    }
+
+    @Test
+    void should_return_employee_from_jdbc_executor_when_hit_get_employee_by_id_given_offload_mode() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee(null, "alibaba1", 20, "male", 6000));
+
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/employees/" + employee.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(employee.getId()))
+                .andExpect(jsonPath("$.name").value("alibaba1"));
+        DistributionSummary sqlStatements = meterRegistry.find(SqlStatementMetricsInterceptor.METRIC_NAME)
+                .tag("handler", "EmployeeController.getEmployeeById")
+                .summary();
+        assertEquals(1, sqlStatements.max());
+    }
+
+    @Test
+    void should_keep_response_status_when_hit_post_employee_given_offload_mode() throws Exception {
+        //when
+        MvcResult mvcResult = mockMvc.perform(post("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"alibaba1\", \"age\": 20, \"gender\": \"male\", \"salary\": 6000}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.name").value("alibaba1"));
+        assertEquals(1, employeeRepository.count());
+    }
+
+    @Test
+    void should_return_not_found_when_hit_get_company_stats_given_offload_mode_and_not_existed_id() throws Exception {
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/companies/0/stats"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Can not find such data."));
+    }
+
+    @Test
+    void should_stream_employees_as_ndjson_when_hit_get_employees_given_offload_mode_and_accept_ndjson() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee(null, "alibaba1", 20, "male", 6000));
+
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/employees").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(content().string(
+                        "{\"id\":" + employee.getId() + ",\"name\":\"alibaba1\",\"age\":20,\"gender\":\"male\",\"salary\":6000,\"companyId\":null,\"version\":0}\n"));
+    }
+}
@@ -0,0 +1,172 @@
+package com.thoughtworks.springbootemployee.IntegrationTest;
+
+import com.jayway.jsonpath.JsonPath;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.outbox.OutboxEvent;
+import com.thoughtworks.springbootemployee.outbox.OutboxRecorder;
+import com.thoughtworks.springbootemployee.outbox.OutboxRelay;
+import com.thoughtworks.springbootemployee.outbox.OutboxRepository;
+import com.thoughtworks.springbootemployee.outbox.OutboxSink;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.service.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OutboxIntegrationTest {
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private OutboxRepository outboxRepository;
+    @Autowired
+    private OutboxRelay outboxRelay;
+    @Autowired
+    private RecordingOutboxSink recordingOutboxSink;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        outboxRelay.relay();
+        recordingOutboxSink.events.clear();
+        recordingOutboxSink.failing = false;
+    }
+
+    @AfterEach
+    void afterEach() {
+        companyRepository.deleteAll();
+        employeeRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+    }
+
+    @Test
+    void should_record_and_relay_ordered_change_events_when_hit_write_endpoints_given_employees_and_companies() throws Exception {
+        //given
+        String employeeResponse = mockMvc.perform(post("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"alibaba1\", \"age\": 20, \"gender\": \"male\", \"salary\": 6000}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        int employeeId = JsonPath.read(employeeResponse, "$.id");
+        mockMvc.perform(put("/employees/" + employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\": " + employeeId + ", \"age\": 21}"))
+                .andExpect(status().isOk());
+        String companyResponse = mockMvc.perform(post("/companies")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"companyName\": \"alibaba\", \"employeeNumber\": 0, \"employees\": []}"))
+                .andReturn().getResponse().getContentAsString();
+        int companyId = JsonPath.read(companyResponse, "$.id");
+        mockMvc.perform(delete("/employees/" + employeeId));
+        mockMvc.perform(delete("/companies/" + companyId));
+
+        //when
+        int relayed = outboxRelay.relay();
+
+        //then
+        assertEquals(5, relayed);
+        assertEquals(0, outboxRepository.count());
+        List<OutboxEvent> events = recordingOutboxSink.events;
+        assertEquals(5, events.size());
+        assertEquals(OutboxRecorder.EMPLOYEE + ":" + employeeId + ":" + OutboxRecorder.SAVED, describe(events.get(0)));
+        assertEquals(OutboxRecorder.EMPLOYEE + ":" + employeeId + ":" + OutboxRecorder.SAVED, describe(events.get(1)));
+        assertEquals(OutboxRecorder.COMPANY + ":" + companyId + ":" + OutboxRecorder.SAVED, describe(events.get(2)));
+        assertEquals(OutboxRecorder.EMPLOYEE + ":" + employeeId + ":" + OutboxRecorder.DELETED, describe(events.get(3)));
+        assertEquals(OutboxRecorder.COMPANY + ":" + companyId + ":" + OutboxRecorder.DELETED, describe(events.get(4)));
+        assertEquals(20, (int) JsonPath.read(events.get(0).getPayload(), "$.age"));
+        assertEquals(21, (int) JsonPath.read(events.get(1).getPayload(), "$.age"));
+        assertEquals("alibaba", JsonPath.read(events.get(2).getPayload(), "$.companyName"));
+        for (int index = 1; index < events.size(); index++) {
+            assertTrue(events.get(index - 1).getId() < events.get(index).getId());
+        }
+    }
+
+    @Test
+    void should_not_record_events_when_save_employee_given_rolled_back_transaction() {
+        //given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        //when
+        transactionTemplate.execute(status -> {
+            employeeService.save(new Employee(null, "alibaba1", 20, "male", 6000));
+            status.setRollbackOnly();
+            return null;
+        });
+
+        //then
+        assertEquals(0, outboxRepository.count());
+        assertEquals(0, employeeRepository.count());
+    }
+
+    @Test
+    void should_keep_events_for_retry_when_relay_given_failing_sink() throws Exception {
+        //given
+        employeeService.save(new Employee(null, "alibaba1", 20, "male", 6000));
+        recordingOutboxSink.failing = true;
+
+        //when
+        assertThrows(IllegalStateException.class, () -> outboxRelay.relay());
+        recordingOutboxSink.failing = false;
+        int relayed = outboxRelay.relay();
+
+        //then
+        assertEquals(1, relayed);
+        assertEquals(1, recordingOutboxSink.events.size());
+        assertEquals(0, outboxRepository.count());
+    }
+
+    private static String describe(OutboxEvent event) {
+        return event.getAggregateType() + ":" + event.getAggregateId() + ":" + event.getEventType();
+    }
+
+    static class RecordingOutboxSink implements OutboxSink {
+        private final List<OutboxEvent> events = new ArrayList<>();
+        private volatile boolean failing;
+
+        @Override
+        public void publish(List<OutboxEvent> events) {
+            if (failing) {
+                throw new IllegalStateException("sink unavailable");
+            }
+            this.events.addAll(events);
+        }
+    }
+
+    @TestConfiguration
+    static class OutboxTestConfiguration {
+        @Bean
+        RecordingOutboxSink recordingOutboxSink() {
+            return new RecordingOutboxSink();
+        }
+    }
+}
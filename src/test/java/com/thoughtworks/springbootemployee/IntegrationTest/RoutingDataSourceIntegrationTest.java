@@ -0,0 +1,164 @@
+package com.thoughtworks.springbootemployee.IntegrationTest;
+
+import com.thoughtworks.springbootemployee.datasource.ReadWriteRoutingDataSource;
+import com.thoughtworks.springbootemployee.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "datasource.routing.enabled=true",
+        "datasource.routing.primary.jdbc-url=jdbc:h2:mem:routingPrimary",
+        "datasource.routing.primary.username=sa",
+        "datasource.routing.primary.maximum-pool-size=4",
+        "datasource.routing.replicas[0].jdbc-url=jdbc:h2:mem:routingReplica",
+        "datasource.routing.replicas[0].username=sa",
+        "datasource.routing.replicas[0].maximum-pool-size=2",
+        "datasource.routing.replica-lag-query=select lag_millis from replica_lag",
+        "datasource.routing.max-replica-lag=1s",
+        "datasource.routing.replica-lag-check-interval=1h"
+})
+@AutoConfigureMockMvc
+class RoutingDataSourceIntegrationTest {
+    private static final String INSERT_EMPLOYEE = "insert into employee (id, name, age, gender, salary) values (?, ?, ?, ?, ?)";
+    private static final String INSERT_COMPANY = "insert into company (id, company_name, employee_number) values (?, ?, 0)";
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MockMvc mockMvc;
+
+    private ReadWriteRoutingDataSource readWriteRoutingDataSource;
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void beforeEach() throws SQLException {
+        readWriteRoutingDataSource = dataSource.unwrap(ReadWriteRoutingDataSource.class);
+        primary = new JdbcTemplate(readWriteRoutingDataSource.getPrimary());
+        replica = new JdbcTemplate(readWriteRoutingDataSource.getReplicas().get("replica-0"));
+        Flyway.configure().dataSource(readWriteRoutingDataSource.getReplicas().get("replica-0")).load().migrate();
+        replica.execute("create table if not exists replica_lag (lag_millis bigint)");
+        replica.update("delete from replica_lag");
+        replica.update("insert into replica_lag values (0)");
+        replicaLagMonitor.refresh();
+    }
+
+    @AfterEach
+    void afterEach() {
+        for (JdbcTemplate jdbcTemplate : new JdbcTemplate[]{primary, replica}) {
+            jdbcTemplate.update("delete from employee");
+            jdbcTemplate.update("delete from company");
+        }
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+    }
+
+    @Test
+    void should_read_from_replica_when_hit_get_employees_given_replica_within_lag() throws Exception {
+        //given
+        replica.update(INSERT_EMPLOYEE, 1000, "replica1", 20, "male", 6000);
+
+        //when
+        //then
+        mockMvc.perform(get("/employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("replica1"));
+        assertEquals(Collections.singletonList("replica-0"), readWriteRoutingDataSource.getHealthyReplicas());
+    }
+
+    @Test
+    void should_write_to_primary_when_hit_post_employee_given_replica_within_lag() throws Exception {
+        //when
+        mockMvc.perform(post("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"alibaba1\", \"age\": 20, \"gender\": \"male\", \"salary\": 6000}"))
+                .andExpect(status().isCreated());
+
+        //then
+        assertEquals(1, primary.queryForObject("select count(*) from employee", Integer.class));
+        assertEquals(0, replica.queryForObject("select count(*) from employee", Integer.class));
+    }
+
+    @Test
+    void should_read_from_primary_when_hit_get_employees_given_replica_behind_max_lag() throws Exception {
+        //given
+        primary.update(INSERT_EMPLOYEE, 1000, "primary1", 20, "male", 6000);
+        replica.update(INSERT_EMPLOYEE, 1001, "replica1", 20, "male", 6000);
+        replica.update("update replica_lag set lag_millis = 60000");
+        replicaLagMonitor.refresh();
+
+        //when
+        //then
+        mockMvc.perform(get("/employees"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("primary1"));
+        assertEquals(Collections.emptyList(), readWriteRoutingDataSource.getHealthyReplicas());
+    }
+
+    @Test
+    void should_cache_primary_rows_when_hit_get_by_id_given_stale_replica_within_lag() throws Exception {
+        //given
+        primary.update(INSERT_EMPLOYEE, 1000, "primary1", 20, "male", 6000);
+        replica.update(INSERT_EMPLOYEE, 1000, "replica1", 20, "male", 6000);
+        primary.update(INSERT_COMPANY, 1000, "primary");
+        replica.update(INSERT_COMPANY, 1000, "replica");
+
+        //when
+        //then
+        for (int request = 0; request < 2; request++) {
+            mockMvc.perform(get("/employees/1000"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name").value("primary1"));
+            mockMvc.perform(get("/companies/1000"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.companyName").value("primary"));
+        }
+        assertEquals(Collections.singletonList("replica-0"), readWriteRoutingDataSource.getHealthyReplicas());
+    }
+
+    @Test
+    void should_mark_replicas_unhealthy_when_start_lag_monitor_given_no_lag_query() {
+        //when
+        new ReplicaLagMonitor(readWriteRoutingDataSource, null, Duration.ofSeconds(1), Duration.ofHours(1)).close();
+
+        //then
+        assertEquals(Collections.emptyList(), readWriteRoutingDataSource.getHealthyReplicas());
+    }
+
+    @Test
+    void should_apply_hikari_settings_per_pool_when_start_given_routing_enabled() {
+        HikariDataSource primaryPool = (HikariDataSource) readWriteRoutingDataSource.getPrimary();
+        HikariDataSource replicaPool = (HikariDataSource) readWriteRoutingDataSource.getReplicas().get("replica-0");
+
+        assertEquals("primary", primaryPool.getPoolName());
+        assertEquals(4, primaryPool.getMaximumPoolSize());
+        assertEquals("replica-0", replicaPool.getPoolName());
+        assertEquals(2, replicaPool.getMaximumPoolSize());
+    }
+}
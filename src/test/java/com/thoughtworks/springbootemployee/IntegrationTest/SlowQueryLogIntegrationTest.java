@@ -0,0 +1,81 @@
+package com.thoughtworks.springbootemployee.IntegrationTest;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "query-log.threshold=0ms",
+        "management.endpoints.web.exposure.include=slowqueries"
+})
+@AutoConfigureMockMvc
+class SlowQueryLogIntegrationTest {
+    private static final String BY_ORIGIN = "$[?(@.maxOrigin == '%s')]";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void afterEach() {
+        companyRepository.deleteAll();
+        employeeRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+    }
+
+    @Test
+    void should_report_binds_rows_and_origin_when_hit_get_slow_queries_given_query_by_gender() throws Exception {
+        //given
+        employeeRepository.saveAll(Arrays.asList(
+                new Employee(null, "alibaba1", 20, "male", 6000),
+                new Employee(null, "alibaba2", 21, "male", 6000),
+                new Employee(null, "alibaba3", 22, "female", 6000)));
+        mockMvc.perform(delete("/actuator/slowqueries"));
+
+        //when
+        mockMvc.perform(get("/employees?gender=male")).andExpect(status().isOk());
+
+        //then
+        mockMvc.perform(get("/actuator/slowqueries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(String.format(BY_ORIGIN, "EmployeeService.findAllByGender"), hasSize(1)))
+                .andExpect(jsonPath(String.format(BY_ORIGIN, "EmployeeService.findAllByGender") + ".maxRows", contains(2)))
+                .andExpect(jsonPath(String.format(BY_ORIGIN, "EmployeeService.findAllByGender") + ".maxBinds[0]", contains("male")));
+    }
+
+    @Test
+    void should_report_update_count_when_hit_get_slow_queries_given_deleted_employee() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee(null, "alibaba1", 20, "male", 6000));
+        mockMvc.perform(delete("/actuator/slowqueries"));
+
+        //when
+        mockMvc.perform(delete("/employees/" + employee.getId())).andExpect(status().isOk());
+
+        //then
+        mockMvc.perform(get("/actuator/slowqueries"))
+                .andExpect(jsonPath(String.format(BY_ORIGIN, "EmployeeService.deleteById") + ".maxRows", containsInAnyOrder(0, 1, 1)));
+    }
+}
@@ -0,0 +1,121 @@
+package com.thoughtworks.springbootemployee.IntegrationTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.thoughtworks.springbootemployee.config.WireFormatConfiguration;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+class WireFormatIntegrationTest {
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void afterEach() {
+        companyRepository.deleteAll();
+        employeeRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+    }
+
+    private void saveEmployees(int count) {
+        List<Employee> employees = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            employees.add(new Employee(null, "alibaba" + index, 20, "male", 6000));
+        }
+        employeeRepository.saveAll(employees);
+    }
+
+    @Test
+    void should_return_cbor_page_when_hit_get_employees_pagination_given_accept_cbor() throws Exception {
+        //given
+        saveEmployees(3);
+
+        //when
+        byte[] body = mockMvc.perform(get("/employees?page=1&pageSize=2").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        //then
+        JsonNode page = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertEquals(2, page.get("content").size());
+        assertEquals("alibaba0", page.get("content").get(0).get("name").asText());
+        assertEquals(3, page.get("totalElements").asInt());
+    }
+
+    @Test
+    void should_return_smile_list_when_hit_get_companies_given_accept_smile() throws Exception {
+        //given
+        companyRepository.save(new Company(null, "alibaba", 0, Collections.emptyList()));
+
+        //when
+        byte[] body = mockMvc.perform(get("/companies").accept(WireFormatConfiguration.APPLICATION_SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(WireFormatConfiguration.APPLICATION_SMILE_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        //then
+        JsonNode companies = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertEquals(1, companies.size());
+        assertEquals("alibaba", companies.get(0).get("companyName").asText());
+    }
+
+    @Test
+    void should_gzip_large_responses_only_when_hit_get_employees_given_accept_encoding_gzip() throws Exception {
+        //given
+        saveEmployees(100);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_CBOR));
+
+        //when
+        ResponseEntity<byte[]> largeResponse = restTemplate.exchange("/employees?page=1&pageSize=100", HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        ResponseEntity<byte[]> smallResponse = restTemplate.exchange("/employees?page=1&pageSize=1", HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+        //then
+        assertEquals("gzip", largeResponse.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        JsonNode page = new ObjectMapper(new CBORFactory()).readTree(new GZIPInputStream(new ByteArrayInputStream(largeResponse.getBody())));
+        assertEquals(100, page.get("content").size());
+        assertNull(smallResponse.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(1, new ObjectMapper(new CBORFactory()).readTree(smallResponse.getBody()).get("content").size());
+    }
+}
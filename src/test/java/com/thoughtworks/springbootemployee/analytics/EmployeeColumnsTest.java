@@ -0,0 +1,136 @@
+package com.thoughtworks.springbootemployee.analytics;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.requestModel.AnalyticsFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EmployeeColumnsTest {
+    private EmployeeColumns employeeColumns;
+
+    private Employee employee(int id, String gender, Integer age, Integer salary, Integer companyId) {
+        Employee employee = new Employee(id, "employee" + id, age, gender, salary);
+        employee.setCompanyId(companyId);
+        return employee;
+    }
+
+    @BeforeEach
+    void init() {
+        employeeColumns = new EmployeeColumns(4, new ForkJoinPool(4));
+    }
+
+    @Test
+    void should_aggregate_across_forked_scans_when_aggregate_given_more_rows_than_split_threshold() {
+        //given
+        int rows = EmployeeColumns.SPLIT_THRESHOLD * 5 + 3;
+        for (int id = 0; id < rows; id++) {
+            employeeColumns.upsert(employee(id, id % 2 == 0 ? "male" : "female", 20 + id % 10, 1000 + id % 100, id % 3));
+        }
+        AnalyticsFilter filter = new AnalyticsFilter();
+        filter.setGender("male");
+        filter.setCompanyId(0);
+
+        //when
+        ColumnStats stats = employeeColumns.aggregate(filter);
+
+        //then
+        long expectedCount = 0;
+        long expectedSalaryTotal = 0;
+        for (int id = 0; id < rows; id++) {
+            if (id % 2 == 0 && id % 3 == 0) {
+                expectedCount++;
+                expectedSalaryTotal += 1000 + id % 100;
+            }
+        }
+        assertEquals(expectedCount, stats.getCount());
+        assertEquals(expectedSalaryTotal, stats.getSalaryTotal());
+        assertEquals(1000, stats.getMinSalary());
+        assertEquals(1098, stats.getMaxSalary());
+    }
+
+    @Test
+    void should_update_and_remove_rows_in_place_when_upsert_and_remove_given_existing_ids() {
+        //given
+        employeeColumns.upsert(employee(1, "male", 20, 1000, 1));
+        employeeColumns.upsert(employee(2, "female", 30, 2000, 1));
+        employeeColumns.upsert(employee(3, "male", 40, 3000, 2));
+
+        //when
+        employeeColumns.upsert(employee(1, "male", 25, 1500, 2));
+        employeeColumns.remove(2);
+        employeeColumns.remove(99);
+
+        //then
+        ColumnStats stats = employeeColumns.aggregate(new AnalyticsFilter());
+        assertEquals(2, employeeColumns.size());
+        assertEquals(4500, stats.getSalaryTotal());
+        assertEquals(25, stats.getMinAge());
+
+        employeeColumns.removeCompany(2);
+        assertEquals(0, employeeColumns.size());
+    }
+
+    @Test
+    void should_count_values_per_bucket_when_histogram_given_bucket_width_and_null_salaries() {
+        //given
+        employeeColumns.upsert(employee(1, "male", 20, 1000, 1));
+        employeeColumns.upsert(employee(2, "female", 30, 1999, 1));
+        employeeColumns.upsert(employee(3, "male", 40, 3500, 2));
+        employeeColumns.upsert(employee(4, "male", 40, null, 2));
+
+        //when
+        Histogram histogram = employeeColumns.histogram(Column.SALARY, 1000, new AnalyticsFilter());
+
+        //then
+        assertEquals(1000, histogram.getOrigin());
+        assertArrayEquals(new long[]{2, 0, 1}, histogram.getCounts());
+    }
+
+    @Test
+    void should_match_nothing_when_aggregate_given_unknown_gender() {
+        //given
+        employeeColumns.upsert(employee(1, "male", 20, 1000, 1));
+        AnalyticsFilter filter = new AnalyticsFilter();
+        filter.setGender("other");
+
+        //when
+        ColumnStats stats = employeeColumns.aggregate(filter);
+
+        //then
+        assertEquals(0, stats.getCount());
+    }
+
+    @Test
+    void should_keep_matching_by_gender_when_upsert_given_more_genders_than_byte_codes() {
+        //given
+        int genders = EmployeeColumns.OTHER_GENDER + 10;
+        for (int id = 0; id < genders; id++) {
+            employeeColumns.upsert(employee(id, "gender" + id, 20, 1000 + id, 1));
+        }
+        employeeColumns.upsert(employee(genders, "gender" + (genders - 1), 20, 5000, 1));
+        employeeColumns.upsert(employee(genders - 2, "gender0", 20, 1000, 1));
+        AnalyticsFilter overflowFilter = new AnalyticsFilter();
+        overflowFilter.setGender("gender" + (genders - 1));
+        AnalyticsFilter codedFilter = new AnalyticsFilter();
+        codedFilter.setGender("gender0");
+        AnalyticsFilter unknownFilter = new AnalyticsFilter();
+        unknownFilter.setGender("unknown");
+
+        //when
+        ColumnStats overflowStats = employeeColumns.aggregate(overflowFilter);
+        ColumnStats codedStats = employeeColumns.aggregate(codedFilter);
+        ColumnStats unknownStats = employeeColumns.aggregate(unknownFilter);
+
+        //then
+        assertEquals(genders + 1, employeeColumns.size());
+        assertEquals(2, overflowStats.getCount());
+        assertEquals(1000 + genders - 1 + 5000, overflowStats.getSalaryTotal());
+        assertEquals(2, codedStats.getCount());
+        assertEquals(0, unknownStats.getCount());
+    }
+}
@@ -0,0 +1,59 @@
+package com.thoughtworks.springbootemployee.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CsvReaderTest {
+    @Test
+    void should_parse_quoted_fields_and_track_lines_when_next_given_crlf_and_embedded_newlines() throws IOException {
+        //given
+        CsvReader csvReader = new CsvReader(new StringReader("\uFEFFname,age\r\n\"Smith, \"\"Jo\"\"\",20\r\n\r\n\"two\nlines\",\n,21"));
+
+        //when
+        CsvRecord header = csvReader.next();
+        CsvRecord quoted = csvReader.next();
+        CsvRecord multiline = csvReader.next();
+        CsvRecord empty = csvReader.next();
+
+        //then
+        assertEquals(asList("name", "age"), header.getFields());
+        assertEquals(asList("Smith, \"Jo\"", "20"), quoted.getFields());
+        assertEquals(2, quoted.getLine());
+        assertEquals(asList("two\nlines", ""), multiline.getFields());
+        assertEquals(4, multiline.getLine());
+        assertEquals(asList("", "21"), empty.getFields());
+        assertEquals(6, empty.getLine());
+        assertNull(empty.getError());
+        assertNull(csvReader.next());
+    }
+
+    @Test
+    void should_report_error_and_continue_when_next_given_malformed_records() throws IOException {
+        //given
+        char[] longField = new char[CsvReader.MAX_RECORD_LENGTH + 1];
+        Arrays.fill(longField, 'a');
+        CsvReader csvReader = new CsvReader(new StringReader("\"a\"b,1\n" + new String(longField) + ",2\nok,3\n\"open,4"));
+
+        //when
+        CsvRecord trailing = csvReader.next();
+        CsvRecord tooLong = csvReader.next();
+        CsvRecord ok = csvReader.next();
+        CsvRecord unterminated = csvReader.next();
+
+        //then
+        assertEquals("unexpected character after quoted field", trailing.getError());
+        assertEquals("record exceeds " + CsvReader.MAX_RECORD_LENGTH + " characters", tooLong.getError());
+        assertEquals(2, tooLong.getLine());
+        assertEquals(asList("ok", "3"), ok.getFields());
+        assertEquals(3, ok.getLine());
+        assertEquals("unterminated quoted field", unterminated.getError());
+        assertNull(csvReader.next());
+    }
+}
@@ -0,0 +1,113 @@
+package com.thoughtworks.springbootemployee.search;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NameIndexTest {
+    private NameIndex nameIndex;
+
+    private Employee employee(int id, String name, Integer companyId) {
+        Employee employee = new Employee(id, name, 20, "male", 6000);
+        employee.setCompanyId(companyId);
+        return employee;
+    }
+
+    private List<Integer> ids(List<NameMatch> matches) {
+        return matches.stream().map(NameMatch::getId).collect(Collectors.toList());
+    }
+
+    @BeforeEach
+    void init() {
+        nameIndex = new NameIndex();
+    }
+
+    @Test
+    void should_rank_exact_then_shorter_prefix_matches_first_when_search_given_prefix() {
+        //given
+        nameIndex.upsert(employee(1, "Johnathan Smith", 1));
+        nameIndex.upsert(employee(2, "John", 1));
+        nameIndex.upsert(employee(3, "Johnny Walker", 2));
+        nameIndex.upsert(employee(4, "Mary Johnson", 2));
+        nameIndex.upsert(employee(5, "Alice", 2));
+
+        //when
+        List<NameMatch> matches = nameIndex.search("  JOHN ", 10);
+
+        //then
+        assertEquals(asList(2, 3, 4, 1), ids(matches));
+        assertEquals(1.0, matches.get(0).getScore());
+        assertEquals("Johnny Walker", matches.get(1).getName());
+        assertEquals(asList(2), ids(nameIndex.search("john", 1)));
+        assertEquals(1, nameIndex.search("johnathan sm", 10).get(0).getId());
+    }
+
+    @Test
+    void should_match_misspelled_names_below_prefix_matches_when_search_given_typo() {
+        //given
+        nameIndex.upsert(employee(1, "Jonathan", 1));
+        nameIndex.upsert(employee(2, "Johnathan", 1));
+        nameIndex.upsert(employee(3, "Margaret", 1));
+
+        //when
+        List<NameMatch> matches = nameIndex.search("johnatan", 10);
+
+        //then
+        assertEquals(asList(2, 1), ids(matches));
+        assertTrue(matches.get(0).getScore() <= NameIndex.FUZZY_WEIGHT);
+        assertTrue(matches.get(0).getScore() > matches.get(1).getScore());
+    }
+
+    @Test
+    void should_follow_renames_and_removals_when_upsert_remove_and_remove_company_given_indexed_employees() {
+        //given
+        nameIndex.upsert(employee(1, "alibaba1", 1));
+        nameIndex.upsert(employee(2, "alibaba2", 1));
+        nameIndex.upsert(employee(3, "alibaba3", 2));
+
+        //when
+        nameIndex.upsert(employee(1, "baidu1", 1));
+        nameIndex.remove(3);
+
+        //then
+        assertEquals(asList(2), ids(nameIndex.search("alibaba", 10)));
+        assertEquals(asList(1), ids(nameIndex.search("baidu", 10)));
+        nameIndex.removeCompany(1);
+        assertEquals(0, nameIndex.size());
+        assertTrue(nameIndex.search("alibaba", 10).isEmpty());
+    }
+
+    @Test
+    void should_prune_dead_terms_when_search_given_renamed_and_removed_entries() {
+        //given
+        for (int id = 0; id < NameIndex.MAX_PREFIX_TERMS; id++) {
+            nameIndex.upsert(employee(id, String.format("alibaba%05d", id), 1));
+        }
+        int liveId = NameIndex.MAX_PREFIX_TERMS;
+        nameIndex.upsert(employee(liveId, "alibaba", 2));
+        nameIndex.upsert(employee(liveId + 1, "alibabz", 2));
+        nameIndex.upsert(employee(liveId + 2, "jonathan", 2));
+
+        //when
+        for (int id = 0; id < NameIndex.MAX_PREFIX_TERMS; id += 2) {
+            nameIndex.upsert(employee(id, "baidu", 1));
+            nameIndex.remove(id + 1);
+        }
+        nameIndex.upsert(employee(liveId, "alibaba", 3));
+
+        //then
+        assertEquals(asList(liveId, liveId + 1), ids(nameIndex.search("alibab", 10)));
+        assertEquals(asList(liveId + 2), ids(nameIndex.search("johnathan", 10)));
+        assertEquals(asList(liveId), ids(nameIndex.search("alibabq", 1)));
+        assertEquals(4, nameIndex.termCount());
+        nameIndex.removeCompany(1);
+        assertEquals(3, nameIndex.termCount());
+    }
+}
@@ -1,29 +1,43 @@
 package com.thoughtworks.springbootemployee.service;
 
+import com.thoughtworks.springbootemployee.exception.DuplicateEmployeeIdException;
+import com.thoughtworks.springbootemployee.exception.InvalidCursorException;
+import com.thoughtworks.springbootemployee.exception.InvalidLimitException;
 import com.thoughtworks.springbootemployee.exception.NoSuchDataException;
 import com.thoughtworks.springbootemployee.exception.NotTheSameIDException;
+import com.thoughtworks.springbootemployee.exception.PreconditionFailedException;
+import com.thoughtworks.springbootemployee.exception.VersionConflictException;
 import com.thoughtworks.springbootemployee.model.Company;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyGenderStats;
 import com.thoughtworks.springbootemployee.repository.CompanyRepository;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.responseModel.CompanyStats;
+import com.thoughtworks.springbootemployee.responseModel.CursorPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
+import javax.persistence.EntityManager;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 class CompanyServiceTest {
     private CompanyRepository mockedCompanyRepository;
+    private EmployeeRepository mockedEmployeeRepository;
     private CompanyService companyService;
 
     private List<Company> generateCompanies() {
@@ -46,10 +60,43 @@ class CompanyServiceTest {
         return companies;
     }
 
+    private CompanyGenderStats genderStats(Integer companyId, String gender, long headcount, long salaryTotal, Integer minSalary, Integer maxSalary) {
+        return new CompanyGenderStats() {
+            public Integer getCompanyId() {
+                return companyId;
+            }
+
+            public String getGender() {
+                return gender;
+            }
+
+            public Long getHeadcount() {
+                return headcount;
+            }
+
+            public Long getSalaryCount() {
+                return headcount;
+            }
+
+            public Long getSalaryTotal() {
+                return headcount == 0 ? null : salaryTotal;
+            }
+
+            public Integer getMinSalary() {
+                return minSalary;
+            }
+
+            public Integer getMaxSalary() {
+                return maxSalary;
+            }
+        };
+    }
+
     @BeforeEach
     void init() {
         mockedCompanyRepository = Mockito.mock(CompanyRepository.class);
-        companyService = new CompanyService(mockedCompanyRepository, Mockito.mock(EmployeeRepository.class));
+        mockedEmployeeRepository = Mockito.mock(EmployeeRepository.class);
+        companyService = new CompanyService(mockedCompanyRepository, mockedEmployeeRepository, Mockito.mock(EntityManager.class), Mockito.mock(ApplicationEventPublisher.class));
     }
 
     @Test
@@ -81,7 +128,7 @@ class CompanyServiceTest {
     void should_return_tencent_employees_when_get_company_by_id_given_2() {
         //given
         int id = 2;
-        when(mockedCompanyRepository.findById(id)).thenReturn(generateCompanies().stream().filter(employee -> employee.getId() == id).findFirst());
+        when(mockedEmployeeRepository.findAllByCompanyId(id)).thenReturn(generateCompanies().get(id).getEmployees());
 
         //when
         List<Employee> employees = companyService.findEmployeesById(id);
@@ -106,7 +153,7 @@ class CompanyServiceTest {
     }
 
     @Test
-    void should_return_inserted_company_when_insert_company_given_a_new_company() {
+    void should_return_inserted_company_when_insert_company_given_a_new_company() throws DuplicateEmployeeIdException {
         //given
         List<Employee> employees = new ArrayList<>();
         employees.add(new Employee(6, "tencent1", 20, "male", 6000));
@@ -122,11 +169,12 @@ class CompanyServiceTest {
         assertEquals(3, returnCompany.getId());
         assertEquals(newCompany.getCompanyName(), returnCompany.getCompanyName());
         assertEquals(newCompany.getEmployeeNumber(), returnCompany.getEmployeeNumber());
-        assertEquals(newCompany.getEmployees(), returnCompany.getEmployees());
+        assertEquals(employees, returnCompany.getEmployees());
 
-        for (Employee employee : newCompany.getEmployees()) {
+        for (Employee employee : returnCompany.getEmployees()) {
             assertEquals(returnCompany.getId(), employee.getCompanyId());
         }
+        Mockito.verify(mockedEmployeeRepository).saveAll(employees);
     }
 
     @Test
@@ -136,7 +184,7 @@ class CompanyServiceTest {
         when(mockedCompanyRepository.findById(id)).thenReturn(Optional.empty());
 
         //when
-        Exception exception = assertThrows(NoSuchDataException.class, () -> companyService.updateCompany(id, new Company(3, "tencent", 3, Collections.emptyList())));
+        Exception exception = assertThrows(NoSuchDataException.class, () -> companyService.updateCompany(id, new Company(3, "tencent", 3, Collections.emptyList()), null));
         assertEquals(NoSuchDataException.class, exception.getClass());
     }
 
@@ -146,12 +194,12 @@ class CompanyServiceTest {
         int id = 1;
 
         //when
-        Exception exception = assertThrows(NotTheSameIDException.class, () -> companyService.updateCompany(id, generateCompanies().get(0)));
+        Exception exception = assertThrows(NotTheSameIDException.class, () -> companyService.updateCompany(id, generateCompanies().get(0), null));
         assertEquals(NotTheSameIDException.class, exception.getClass());
     }
 
     @Test
-    void should_return_updated_company_when_update_company_give_company_id_and_target_company() throws NoSuchDataException, NotTheSameIDException {
+    void should_return_updated_company_when_update_company_give_company_id_and_target_company() throws NoSuchDataException, NotTheSameIDException, PreconditionFailedException, DuplicateEmployeeIdException {
         //given
         int id = 1;
         Optional<Company> companyOption = generateCompanies().stream().filter(company -> company.getId() == id).findFirst();
@@ -162,7 +210,7 @@ class CompanyServiceTest {
         when(mockedCompanyRepository.save(targetCompany)).thenReturn(targetCompany);
 
         //when
-        Company updatedCompany = companyService.updateCompany(id, targetCompany);
+        Company updatedCompany = companyService.updateCompany(id, targetCompany, null);
 
         //then
         assertEquals(targetCompany.getId(), updatedCompany.getId());
@@ -171,11 +219,46 @@ class CompanyServiceTest {
         assertEquals(targetCompany.getEmployees(), updatedCompany.getEmployees());
     }
 
+    @Test
+    void should_keep_employee_number_when_update_company_given_employee_number_without_employees() throws NoSuchDataException, NotTheSameIDException, PreconditionFailedException, DuplicateEmployeeIdException {
+        //given
+        int id = 1;
+        Company targetCompany = generateCompanies().get(id);
+        when(mockedCompanyRepository.findById(id)).thenReturn(Optional.of(targetCompany));
+        when(mockedCompanyRepository.save(targetCompany)).thenReturn(targetCompany);
+        Company updatedCompany = new Company(id, "baidu1", 99, null);
+
+        //when
+        Company returnCompany = companyService.updateCompany(id, updatedCompany, null);
+
+        //then
+        assertEquals("baidu1", returnCompany.getCompanyName());
+        assertEquals(3, returnCompany.getEmployeeNumber());
+        Mockito.verify(mockedEmployeeRepository, Mockito.never()).findAllByCompanyId(id);
+    }
+
+    @Test
+    void should_throw_duplicate_employee_id_exception_when_update_company_given_repeated_employee_id() {
+        //given
+        int id = 1;
+        Company updatedCompany = new Company(id, "alibaba", 2, asList(
+                new Employee(1, "alibaba1", 20, "male", 6000),
+                new Employee(1, "alibaba1 again", 21, "male", 6500)));
+
+        //when
+        Exception exception = assertThrows(DuplicateEmployeeIdException.class, () -> companyService.updateCompany(id, updatedCompany, null));
+
+        //then
+        assertEquals(DuplicateEmployeeIdException.class, exception.getClass());
+        Mockito.verify(mockedEmployeeRepository, Mockito.never()).saveAll(anyList());
+        Mockito.verify(mockedCompanyRepository, Mockito.never()).save(any());
+    }
+
     @Test
     void should_return_boolean_when_delete_company_given_id() throws NoSuchDataException {
         //given
         int id = 2;
-        when(mockedCompanyRepository.findById(id)).thenReturn(generateCompanies().stream().filter(company -> company.getId() == id).findFirst());
+        when(mockedCompanyRepository.bulkDeleteById(id)).thenReturn(1);
 
         //when
         boolean isDelete = companyService.deleteById(id);
@@ -188,10 +271,137 @@ class CompanyServiceTest {
     void should_throw_no_data_exception_when_delete_company_by_id_given_id() {
         //given
         int id = 3;
-        when(mockedCompanyRepository.findById(id)).thenReturn(Optional.empty());
+        when(mockedCompanyRepository.bulkDeleteById(id)).thenReturn(0);
 
         //when
         Exception exception = assertThrows(NoSuchDataException.class, () -> companyService.deleteById(id));
         assertEquals(NoSuchDataException.class, exception.getClass());
     }
+
+    @Test
+    void should_return_all_companies_without_next_cursor_when_find_all_after_given_limit_larger_than_rows() throws InvalidCursorException, InvalidLimitException {
+        //given
+        int limit = 5;
+        when(mockedCompanyRepository.findAllByIdGreaterThanOrderByIdAsc(eq(Integer.MIN_VALUE), eq(PageRequest.of(0, limit + 1))))
+                .thenReturn(generateCompanies());
+
+        //when
+        CursorPage<Company> companies = companyService.findAllAfter(null, limit);
+
+        //then
+        assertEquals(3, companies.getContent().size());
+        assertNull(companies.getNextCursor());
+    }
+
+    @Test
+    void should_update_keep_insert_and_detach_employees_when_update_company_given_changed_employee_list() throws NoSuchDataException, NotTheSameIDException, PreconditionFailedException, DuplicateEmployeeIdException {
+        //given
+        int id = 0;
+        Company targetCompany = generateCompanies().get(id);
+        List<Employee> currentEmployees = targetCompany.getEmployees();
+        currentEmployees.forEach(employee -> employee.setCompanyId(id));
+        when(mockedCompanyRepository.findById(id)).thenReturn(Optional.of(targetCompany));
+        when(mockedEmployeeRepository.findAllByCompanyId(id)).thenReturn(currentEmployees);
+        when(mockedCompanyRepository.save(targetCompany)).thenReturn(targetCompany);
+        Employee renamedEmployee = new Employee(0, "alibaba1-renamed", null, null, null);
+        Employee newEmployee = new Employee(null, "alibaba4", 22, "female", 9000);
+        Company updatedCompany = new Company(id, null, null, new ArrayList<>(asList(renamedEmployee, currentEmployees.get(1), newEmployee)));
+
+        //when
+        Company returnCompany = companyService.updateCompany(id, updatedCompany, null);
+
+        //then
+        assertEquals(3, returnCompany.getEmployees().size());
+        assertSame(currentEmployees.get(0), returnCompany.getEmployees().get(0));
+        assertEquals("alibaba1-renamed", currentEmployees.get(0).getName());
+        assertEquals(20, currentEmployees.get(0).getAge());
+        assertSame(newEmployee, returnCompany.getEmployees().get(2));
+        assertEquals(id, newEmployee.getCompanyId());
+        assertNull(currentEmployees.get(2).getCompanyId());
+        Mockito.verify(mockedEmployeeRepository).saveAll(Collections.singletonList(newEmployee));
+        Mockito.verify(mockedEmployeeRepository, Mockito.never()).findAllById(anyList());
+    }
+
+    @Test
+    void should_return_patched_company_when_patch_company_given_id_version_and_company_name() throws NoSuchDataException, NotTheSameIDException, VersionConflictException {
+        //given
+        int id = 1;
+        Company patchedCompany = new Company(null, "alibaba1", null, null);
+        patchedCompany.setVersion(2);
+        Company expectedCompany = new Company(id, "alibaba1", 3, Collections.emptyList());
+        expectedCompany.setVersion(3);
+        when(mockedCompanyRepository.patch(id, patchedCompany)).thenReturn(Optional.of(expectedCompany));
+
+        //when
+        Company company = companyService.patchCompany(id, patchedCompany);
+
+        //then
+        assertEquals(expectedCompany, company);
+        Mockito.verify(mockedCompanyRepository, Mockito.never()).findById(id);
+    }
+
+    @Test
+    void should_throw_version_conflict_exception_when_patch_company_given_stale_version() {
+        //given
+        int id = 1;
+        Company patchedCompany = new Company(null, "alibaba1", null, null);
+        patchedCompany.setVersion(1);
+        when(mockedCompanyRepository.patch(id, patchedCompany)).thenReturn(Optional.empty());
+        when(mockedCompanyRepository.existsById(id)).thenReturn(true);
+
+        //when
+        Exception exception = assertThrows(VersionConflictException.class, () -> companyService.patchCompany(id, patchedCompany));
+        assertEquals(VersionConflictException.class, exception.getClass());
+    }
+
+    @Test
+    void should_combine_gender_rows_when_find_stats_by_id_given_company_with_male_and_female_employees() throws NoSuchDataException {
+        //given
+        int id = 0;
+        when(mockedCompanyRepository.findGenderStatsById(id)).thenReturn(asList(
+                genderStats(id, "female", 1, 7000, 7000, 7000),
+                genderStats(id, "male", 2, 14000, 6000, 8000)));
+
+        //when
+        CompanyStats companyStats = companyService.findStatsById(id);
+
+        //then
+        assertEquals(id, companyStats.getCompanyId());
+        assertEquals(3, companyStats.getHeadcount());
+        assertEquals(21000, companyStats.getSalaryTotal());
+        assertEquals(7000.0, companyStats.getAverageSalary());
+        assertEquals(6000, companyStats.getMinSalary());
+        assertEquals(8000, companyStats.getMaxSalary());
+        assertEquals(1, companyStats.getGenders().get("female"));
+        assertEquals(2, companyStats.getGenders().get("male"));
+    }
+
+    @Test
+    void should_return_empty_stats_when_find_all_stats_given_company_without_employees() {
+        //given
+        when(mockedCompanyRepository.findAllGenderStats()).thenReturn(asList(
+                genderStats(0, "male", 3, 18000, 6000, 6000),
+                genderStats(1, null, 0, 0, null, null)));
+
+        //when
+        List<CompanyStats> companyStats = companyService.findAllStats();
+
+        //then
+        assertEquals(2, companyStats.size());
+        assertEquals(3, companyStats.get(0).getHeadcount());
+        assertEquals(0, companyStats.get(1).getHeadcount());
+        assertNull(companyStats.get(1).getAverageSalary());
+        assertTrue(companyStats.get(1).getGenders().isEmpty());
+    }
+
+    @Test
+    void should_throw_no_such_data_exception_when_find_stats_by_id_given_not_existing_id() {
+        //given
+        int id = 3;
+        when(mockedCompanyRepository.findGenderStatsById(id)).thenReturn(Collections.emptyList());
+
+        //when
+        Exception exception = assertThrows(NoSuchDataException.class, () -> companyService.findStatsById(id));
+        assertEquals(NoSuchDataException.class, exception.getClass());
+    }
 }
@@ -0,0 +1,80 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.event.EmployeeChangedEvent;
+import com.thoughtworks.springbootemployee.exception.InvalidSearchQueryException;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.responseModel.EmployeeSearchHit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+
+public class EmployeeSearchServiceTest {
+    private EmployeeService mockedEmployeeService;
+    private EmployeeSearchService employeeSearchService;
+
+    @BeforeEach
+    void init() {
+        mockedEmployeeService = Mockito.mock(EmployeeService.class);
+        employeeSearchService = new EmployeeSearchService(mockedEmployeeService);
+    }
+
+    private List<Integer> ids(List<EmployeeSearchHit> hits) {
+        return hits.stream().map(EmployeeSearchHit::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_not_resurrect_deleted_or_renamed_employees_when_reload_given_changes_committed_during_warm_up() throws InvalidSearchQueryException {
+        //given
+        List<Employee> staleRows = asList(
+                new Employee(1, "alibaba1", 20, "male", 6000),
+                new Employee(2, "alibaba2", 20, "male", 6000),
+                new Employee(3, "alibaba3", 20, "male", 6000));
+        Mockito.doAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            consumer.accept(staleRows.get(0));
+            employeeSearchService.onEmployeeChanged(EmployeeChangedEvent.deleted(Collections.singletonList(2)));
+            employeeSearchService.onEmployeeChanged(EmployeeChangedEvent.saved(new Employee(3, "baidu3", 20, "male", 6000)));
+            consumer.accept(staleRows.get(1));
+            consumer.accept(staleRows.get(2));
+            return null;
+        }).when(mockedEmployeeService).forEach(any(Consumer.class));
+
+        //when
+        employeeSearchService.reload();
+
+        //then
+        assertEquals(asList(1), ids(employeeSearchService.search("alibaba", 10)));
+        assertEquals(asList(3), ids(employeeSearchService.search("baidu", 10)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_keep_serving_previous_index_when_search_given_reload_in_progress() throws InvalidSearchQueryException {
+        //given
+        employeeSearchService.onEmployeeChanged(EmployeeChangedEvent.saved(new Employee(1, "alibaba1", 20, "male", 6000)));
+        Mockito.doAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            assertEquals(asList(1), ids(employeeSearchService.search("alibaba", 10)));
+            consumer.accept(new Employee(1, "baidu1", 20, "male", 6000));
+            return null;
+        }).when(mockedEmployeeService).forEach(any(Consumer.class));
+
+        //when
+        employeeSearchService.reload();
+
+        //then
+        assertTrue(employeeSearchService.search("alibaba", 10).isEmpty());
+        assertEquals(asList(1), ids(employeeSearchService.search("baidu", 10)));
+    }
+}
@@ -1,34 +1,54 @@
 package com.thoughtworks.springbootemployee.service;
 
+import com.thoughtworks.springbootemployee.exception.InvalidCursorException;
+import com.thoughtworks.springbootemployee.exception.InvalidLimitException;
+import com.thoughtworks.springbootemployee.exception.InvalidFieldsException;
+import com.thoughtworks.springbootemployee.exception.InvalidFilterException;
 import com.thoughtworks.springbootemployee.exception.NoSuchDataException;
 import com.thoughtworks.springbootemployee.exception.NotTheSameIDException;
+import com.thoughtworks.springbootemployee.exception.PreconditionFailedException;
+import com.thoughtworks.springbootemployee.exception.VersionConflictException;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.requestModel.EmployeeFilter;
+import com.thoughtworks.springbootemployee.responseModel.CursorPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
+import javax.persistence.EntityManager;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 public class EmployeeServiceTest {
     private EmployeeRepository mockedEmployeeRepository;
+    private CompanyRepository mockedCompanyRepository;
     private EmployeeService employeeService;
 
     @BeforeEach
     void init() {
         mockedEmployeeRepository = Mockito.mock(EmployeeRepository.class);
-        employeeService = new EmployeeService(mockedEmployeeRepository);
+        mockedCompanyRepository = Mockito.mock(CompanyRepository.class);
+        employeeService = new EmployeeService(mockedEmployeeRepository, mockedCompanyRepository, Mockito.mock(EntityManager.class), Mockito.mock(ApplicationEventPublisher.class));
     }
 
     private List<Employee> generateEmployees() {
@@ -112,7 +132,7 @@ public class EmployeeServiceTest {
     }
 
     @Test
-    void should_return_updated_employee_when_update_employee_give_employee_id_and_target_employee() throws NoSuchDataException, NotTheSameIDException {
+    void should_return_updated_employee_when_update_employee_give_employee_id_and_target_employee() throws NoSuchDataException, NotTheSameIDException, PreconditionFailedException {
         //given
         int id = 1;
         Optional<Employee> employeeOptional = generateEmployees().stream().filter(employee -> employee.getId() == id).findFirst();
@@ -122,7 +142,7 @@ public class EmployeeServiceTest {
         when(mockedEmployeeRepository.save(targetEmployee)).thenReturn(targetEmployee);
 
         //when
-        Employee updatedEmployee = employeeService.updateEmployee(id, targetEmployee);
+        Employee updatedEmployee = employeeService.updateEmployee(id, targetEmployee, null);
 
         //then
         assertEquals(targetEmployee.getId(), updatedEmployee.getId());
@@ -139,7 +159,7 @@ public class EmployeeServiceTest {
         when(mockedEmployeeRepository.findById(id)).thenReturn(Optional.empty());
 
         //when
-        Exception exception = assertThrows(NoSuchDataException.class, () -> employeeService.updateEmployee(id, new Employee(5, "name", 20, "female", 10000)));
+        Exception exception = assertThrows(NoSuchDataException.class, () -> employeeService.updateEmployee(id, new Employee(5, "name", 20, "female", 10000), null));
         assertEquals(NoSuchDataException.class, exception.getClass());
     }
 
@@ -149,7 +169,7 @@ public class EmployeeServiceTest {
         int id = 1;
 
         //when
-        Exception exception = assertThrows(NotTheSameIDException.class, () -> employeeService.updateEmployee(id, generateEmployees().get(0)));
+        Exception exception = assertThrows(NotTheSameIDException.class, () -> employeeService.updateEmployee(id, generateEmployees().get(0), null));
         assertEquals(NotTheSameIDException.class, exception.getClass());
     }
 
@@ -157,24 +177,250 @@ public class EmployeeServiceTest {
     void should_return_boolean_when_delete_employee_given_id() throws NoSuchDataException {
         //given
         int id = 3;
-        when(mockedEmployeeRepository.findById(id)).thenReturn(generateEmployees().stream().filter(employee -> employee.getId() == id).findFirst());
+        when(mockedEmployeeRepository.bulkDeleteById(id)).thenReturn(1);
 
         //when
         boolean isDelete = employeeService.deleteById(id);
 
         //then
         assertTrue(isDelete);
-        Mockito.verify(mockedEmployeeRepository).deleteById(id);
+        Mockito.verify(mockedEmployeeRepository, Mockito.never()).findById(id);
     }
 
     @Test
     void should_throw_no_data_exception_when_delete_employee_by_id_given_id() {
         //given
         int id = 5;
-        when(mockedEmployeeRepository.findById(id)).thenReturn(Optional.empty());
+        when(mockedEmployeeRepository.bulkDeleteById(id)).thenReturn(0);
 
         //when
         Exception exception = assertThrows(NoSuchDataException.class, () -> employeeService.deleteById(id));
         assertEquals(NoSuchDataException.class, exception.getClass());
     }
+
+    @Test
+    void should_return_first_rows_and_next_cursor_when_find_all_after_given_no_cursor_and_limit_2() throws InvalidCursorException, InvalidLimitException {
+        //given
+        int limit = 2;
+        when(mockedEmployeeRepository.findAllByIdGreaterThanOrderByIdAsc(eq(Integer.MIN_VALUE), eq(PageRequest.of(0, limit + 1))))
+                .thenReturn(generateEmployees().subList(0, limit + 1));
+        when(mockedEmployeeRepository.findAllByIdGreaterThanOrderByIdAsc(eq(1), eq(PageRequest.of(0, limit + 1))))
+                .thenReturn(generateEmployees().subList(2, 4));
+
+        //when
+        CursorPage<Employee> firstPage = employeeService.findAllAfter(null, limit);
+        CursorPage<Employee> secondPage = employeeService.findAllAfter(firstPage.getNextCursor(), limit);
+
+        //then
+        assertEquals(2, firstPage.getContent().size());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(2, secondPage.getContent().size());
+        assertEquals(2, secondPage.getContent().get(0).getId());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void should_throw_invalid_cursor_exception_when_find_all_after_given_malformed_cursor() {
+        //when
+        Exception exception = assertThrows(InvalidCursorException.class, () -> employeeService.findAllAfter("not-a-cursor", 2));
+        assertEquals(InvalidCursorException.class, exception.getClass());
+    }
+
+    @Test
+    void should_return_page_of_female_employees_when_find_by_gender_given_gender_page_1_and_page_size_2() {
+        //given
+        String gender = "Female";
+        Page<Employee> expectedEmployees = new PageImpl<>(generateEmployees().stream().filter(employee -> employee.getGender().equals(gender)).collect(Collectors.toList()));
+        when(mockedEmployeeRepository.findAllByGender(gender, PageRequest.of(0, 2))).thenReturn(expectedEmployees);
+
+        //when
+        Page<Employee> employees = employeeService.findAllByGender(gender, 1, 2);
+
+        //then
+        assertEquals(expectedEmployees, employees);
+    }
+
+    @Test
+    void should_return_patched_employee_when_patch_employee_given_id_version_and_changed_fields() throws NoSuchDataException, NotTheSameIDException, VersionConflictException {
+        //given
+        int id = 1;
+        Employee patchedEmployee = new Employee(null, "Xiaohong1", null, null, null);
+        patchedEmployee.setVersion(0);
+        Employee expectedEmployee = new Employee(id, "Xiaohong1", 19, "Female", 10000);
+        expectedEmployee.setVersion(1);
+        when(mockedEmployeeRepository.patch(id, patchedEmployee)).thenReturn(Optional.of(expectedEmployee));
+
+        //when
+        Employee employee = employeeService.patchEmployee(id, patchedEmployee);
+
+        //then
+        assertEquals(expectedEmployee, employee);
+        Mockito.verify(mockedEmployeeRepository, Mockito.never()).findById(id);
+        Mockito.verify(mockedEmployeeRepository, Mockito.never()).save(any());
+    }
+
+    @Test
+    void should_throw_version_conflict_exception_when_patch_employee_given_stale_version() {
+        //given
+        int id = 1;
+        Employee patchedEmployee = new Employee(null, "Xiaohong1", null, null, null);
+        patchedEmployee.setVersion(0);
+        when(mockedEmployeeRepository.patch(id, patchedEmployee)).thenReturn(Optional.empty());
+        when(mockedEmployeeRepository.existsById(id)).thenReturn(true);
+
+        //when
+        Exception exception = assertThrows(VersionConflictException.class, () -> employeeService.patchEmployee(id, patchedEmployee));
+        assertEquals(VersionConflictException.class, exception.getClass());
+    }
+
+    @Test
+    void should_throw_no_data_exception_when_patch_employee_given_not_existing_id() {
+        //given
+        int id = 5;
+        when(mockedEmployeeRepository.patch(eq(id), any())).thenReturn(Optional.empty());
+        when(mockedEmployeeRepository.existsById(id)).thenReturn(false);
+
+        //when
+        Exception exception = assertThrows(NoSuchDataException.class, () -> employeeService.patchEmployee(id, new Employee(null, "name", null, null, null)));
+        assertEquals(NoSuchDataException.class, exception.getClass());
+    }
+
+    @Test
+    void should_return_deleted_count_when_delete_employees_given_ids() throws NoSuchDataException {
+        //given
+        List<Integer> ids = asList(1, 2, 9);
+        when(mockedEmployeeRepository.bulkDeleteByIdIn(ids)).thenReturn(2);
+
+        //when
+        int deletedCount = employeeService.deleteAllById(ids);
+
+        //then
+        assertEquals(2, deletedCount);
+    }
+
+    @Test
+    void should_throw_no_data_exception_when_delete_employees_given_not_existing_ids() {
+        //given
+        List<Integer> ids = asList(8, 9);
+        when(mockedEmployeeRepository.bulkDeleteByIdIn(ids)).thenReturn(0);
+
+        //when
+        Exception exception = assertThrows(NoSuchDataException.class, () -> employeeService.deleteAllById(ids));
+        assertEquals(NoSuchDataException.class, exception.getClass());
+    }
+
+    @Test
+    void should_increment_company_employee_number_when_insert_employee_given_employee_with_company_id() {
+        //given
+        Employee newEmployee = new Employee(null, "Xiaohei", 15, "Female", 8000);
+        newEmployee.setCompanyId(2);
+        when(mockedEmployeeRepository.save(newEmployee)).thenReturn(newEmployee);
+
+        //when
+        employeeService.save(newEmployee);
+
+        //then
+        Mockito.verify(mockedCompanyRepository).adjustEmployeeNumber(2, 1);
+    }
+
+    @Test
+    void should_decrement_company_employee_number_when_delete_employees_given_ids() throws NoSuchDataException {
+        //given
+        List<Integer> ids = asList(1, 2);
+        when(mockedEmployeeRepository.bulkDeleteByIdIn(ids)).thenReturn(2);
+
+        //when
+        employeeService.deleteAllById(ids);
+
+        //then
+        Mockito.verify(mockedCompanyRepository).decrementEmployeeNumberByEmployeeIdIn(ids);
+    }
+
+    @Test
+    void should_select_trimmed_distinct_fields_when_find_all_fields_given_fields() throws InvalidFieldsException {
+        //given
+        List<Map<String, Object>> rows = Collections.singletonList(Collections.singletonMap("name", "Xiaoming"));
+        when(mockedEmployeeRepository.findAllFields(asList("name", "id"))).thenReturn(rows);
+
+        //when
+        List<Map<String, Object>> result = employeeService.findAllFields("name, id,name");
+
+        //then
+        assertSame(rows, result);
+    }
+
+    @Test
+    void should_throw_invalid_fields_exception_when_find_all_fields_given_unknown_field() {
+        //given
+        //when
+        //then
+        assertThrows(InvalidFieldsException.class, () -> employeeService.findAllFields("id,password"));
+        Mockito.verifyNoInteractions(mockedEmployeeRepository);
+    }
+
+    @Test
+    void should_throw_precondition_failed_exception_when_update_employee_given_stale_version_tag() {
+        //given
+        int id = 1;
+        Employee targetEmployee = generateEmployees().get(id);
+        targetEmployee.setVersion(3);
+        when(mockedEmployeeRepository.findById(id)).thenReturn(Optional.of(targetEmployee));
+
+        //when
+        //then
+        assertThrows(PreconditionFailedException.class,
+                () -> employeeService.updateEmployee(id, new Employee(id, "Xiaohong1", 19, "Female", 10000), asList("1", "2")));
+        Mockito.verify(mockedEmployeeRepository, Mockito.never()).save(any());
+    }
+
+    @Test
+    void should_update_employee_when_update_employee_given_current_version_tag() throws NoSuchDataException, NotTheSameIDException, PreconditionFailedException {
+        //given
+        int id = 1;
+        Employee targetEmployee = generateEmployees().get(id);
+        targetEmployee.setVersion(3);
+        when(mockedEmployeeRepository.findById(id)).thenReturn(Optional.of(targetEmployee));
+        when(mockedEmployeeRepository.save(targetEmployee)).thenReturn(targetEmployee);
+
+        //when
+        Employee updatedEmployee = employeeService.updateEmployee(id, new Employee(id, "Xiaohong1", 19, "Female", 10000), asList("2", "3"));
+
+        //then
+        assertEquals("Xiaohong1", updatedEmployee.getName());
+    }
+
+    @Test
+    void should_query_page_sorted_by_requested_fields_then_id_when_find_all_given_filter_with_sort() throws InvalidFilterException {
+        //given
+        EmployeeFilter filter = new EmployeeFilter();
+        filter.setGender("Male");
+        filter.setMinAge(16);
+        filter.setSort(asList("-salary", "name"));
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        when(mockedEmployeeRepository.findAll(any(Specification.class), pageable.capture())).thenReturn(new PageImpl<>(generateEmployees().subList(0, 2)));
+
+        //when
+        Page<Employee> employees = employeeService.findAll(filter, 2, 2);
+
+        //then
+        assertEquals(2, employees.getContent().size());
+        assertEquals(1, pageable.getValue().getPageNumber());
+        assertEquals(2, pageable.getValue().getPageSize());
+        assertEquals(Sort.by(Sort.Order.desc("salary"), Sort.Order.asc("name"), Sort.Order.asc("id")), pageable.getValue().getSort());
+    }
+
+    @Test
+    void should_throw_invalid_filter_exception_when_find_all_given_reversed_range_or_unknown_sort_field() {
+        //given
+        EmployeeFilter reversedRange = new EmployeeFilter();
+        reversedRange.setMinSalary(8000);
+        reversedRange.setMaxSalary(6000);
+        EmployeeFilter unknownSortField = new EmployeeFilter();
+        unknownSortField.setSort(Collections.singletonList("-version"));
+
+        //when
+        //then
+        assertThrows(InvalidFilterException.class, () -> employeeService.findAll(reversedRange, 1, 10));
+        assertThrows(InvalidFilterException.class, () -> employeeService.findAll(unknownSortField, 1, 10));
+    }
 }
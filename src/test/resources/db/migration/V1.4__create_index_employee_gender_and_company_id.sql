@@ -0,0 +1,2 @@
+create index idx_employee_gender on employee (gender);
+create index idx_employee_company_id_id on employee (company_id, id)
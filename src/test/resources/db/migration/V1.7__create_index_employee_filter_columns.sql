@@ -0,0 +1,5 @@
+create index idx_employee_gender_age on employee (gender, age);
+create index idx_employee_gender_salary on employee (gender, salary);
+create index idx_employee_company_id_salary on employee (company_id, salary);
+create index idx_employee_salary on employee (salary);
+drop index idx_employee_gender
@@ -0,0 +1,9 @@
+create table outbox_event (
+    id bigint generated by default as identity,
+    aggregate_type varchar(32) not null,
+    aggregate_id integer not null,
+    event_type varchar(32) not null,
+    payload varchar(4096),
+    created_at timestamp not null,
+    primary key (id)
+)